@@ -0,0 +1,165 @@
+package com.arman.clippers;
+
+public class FrustumClipper {
+
+    public static final int INSIDE = 0;
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int BOTTOM = 1 << 2;
+    public static final int TOP = 1 << 3;
+    public static final int NEAR = 1 << 4;
+    public static final int FAR = 1 << 5;
+
+    public static final int PLANE_COUNT = 6;
+    public static final int POSITION_SIZE = 4;
+
+    private final int stride;
+    private float[] front;
+    private float[] back;
+    private float[] result;
+    private int capacity;
+
+    public FrustumClipper() {
+        this(16);
+    }
+
+    public FrustumClipper(int maxVertices) {
+        this(maxVertices, POSITION_SIZE);
+    }
+
+    public FrustumClipper(int maxVertices, int stride) {
+        if (stride < POSITION_SIZE) {
+            throw new IllegalArgumentException("stride must hold at least x, y, z and w");
+        }
+        this.stride = stride;
+        this.ensureCapacity(maxVertices);
+    }
+
+    private void ensureCapacity(int vertexCount) {
+        int capacity = vertexCount + PLANE_COUNT;
+        if (capacity > this.capacity) {
+            this.capacity = capacity;
+            this.front = new float[capacity * this.stride];
+            this.back = new float[capacity * this.stride];
+        }
+    }
+
+    public static int outcode(float x, float y, float z, float w) {
+        int code = INSIDE;
+        if (x < -w) {
+            code |= LEFT;
+        }
+        if (x > w) {
+            code |= RIGHT;
+        }
+        if (y < -w) {
+            code |= BOTTOM;
+        }
+        if (y > w) {
+            code |= TOP;
+        }
+        if (z < -w) {
+            code |= NEAR;
+        }
+        if (z > w) {
+            code |= FAR;
+        }
+        return code;
+    }
+
+    public int getStride() {
+        return this.stride;
+    }
+
+    public float[] getVertices() {
+        return this.result;
+    }
+
+    public int clip(float[] vertices, int count) {
+        int andCode = ~0;
+        int orCode = 0;
+        for (int i = 0, offset = 0; i < count; i++, offset += this.stride) {
+            int code = outcode(vertices[offset], vertices[offset + 1], vertices[offset + 2], vertices[offset + 3]);
+            andCode &= code;
+            orCode |= code;
+        }
+        if (count < 3 || andCode != 0) {
+            this.result = null;
+            return 0;
+        }
+        if (orCode == 0) {
+            this.result = vertices;
+            return count;
+        }
+        this.ensureCapacity(count);
+        System.arraycopy(vertices, 0, this.front, 0, count * this.stride);
+        float[] source = this.front;
+        float[] destination = this.back;
+        for (int plane = 0; plane < PLANE_COUNT && count >= 3; plane++) {
+            int bit = 1 << plane;
+            if ((orCode & bit) != 0) {
+                count = this.clip(source, count, destination, bit);
+                float[] temp = source;
+                source = destination;
+                destination = temp;
+            }
+        }
+        if (count < 3) {
+            this.result = null;
+            return 0;
+        }
+        this.result = source;
+        return count;
+    }
+
+    private int clip(float[] source, int count, float[] destination, int plane) {
+        int written = 0;
+        int previous = (count - 1) * this.stride;
+        float previousDistance = distance(source, previous, plane);
+        for (int i = 0, current = 0; i < count; i++, current += this.stride) {
+            float currentDistance = distance(source, current, plane);
+            if (currentDistance >= 0) {
+                if (previousDistance < 0) {
+                    this.intersect(source, current, currentDistance, previous, previousDistance, destination, written);
+                    written += this.stride;
+                }
+                System.arraycopy(source, current, destination, written, this.stride);
+                written += this.stride;
+            } else if (previousDistance >= 0) {
+                this.intersect(source, previous, previousDistance, current, currentDistance, destination, written);
+                written += this.stride;
+            }
+            previous = current;
+            previousDistance = currentDistance;
+        }
+        return written / this.stride;
+    }
+
+    private void intersect(float[] source, int inside, float insideDistance, int outside, float outsideDistance,
+                           float[] destination, int offset) {
+        float t = insideDistance / (insideDistance - outsideDistance);
+        for (int i = 0; i < this.stride; i++) {
+            float a = source[inside + i];
+            destination[offset + i] = a + t * (source[outside + i] - a);
+        }
+    }
+
+    private static float distance(float[] vertices, int offset, int plane) {
+        float w = vertices[offset + 3];
+        switch (plane) {
+            case LEFT:
+                return w + vertices[offset];
+            case RIGHT:
+                return w - vertices[offset];
+            case BOTTOM:
+                return w + vertices[offset + 1];
+            case TOP:
+                return w - vertices[offset + 1];
+            case NEAR:
+                return w + vertices[offset + 2];
+            default:
+                return w - vertices[offset + 2];
+        }
+    }
+
+}
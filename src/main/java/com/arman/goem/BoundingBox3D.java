@@ -0,0 +1,194 @@
+package com.arman.geom;
+
+import org.jetbrains.annotations.NotNull;
+
+public class BoundingBox3D {
+
+    private float minX, minY, minZ;
+    private float maxX, maxY, maxZ;
+
+    public BoundingBox3D() {
+        this.clear();
+    }
+
+    public BoundingBox3D(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        this.set(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    public BoundingBox3D(@NotNull BoundingBox3D box) {
+        this.set(box);
+    }
+
+    public void clear() {
+        this.minX = Float.POSITIVE_INFINITY;
+        this.minY = Float.POSITIVE_INFINITY;
+        this.minZ = Float.POSITIVE_INFINITY;
+        this.maxX = Float.NEGATIVE_INFINITY;
+        this.maxY = Float.NEGATIVE_INFINITY;
+        this.maxZ = Float.NEGATIVE_INFINITY;
+    }
+
+    public boolean isEmpty() {
+        return this.minX > this.maxX || this.minY > this.maxY || this.minZ > this.maxZ;
+    }
+
+    public void set(BoundingBox3D box) {
+        this.set(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ);
+    }
+
+    public void set(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    public void add(float x, float y, float z) {
+        if (x < this.minX) {
+            this.minX = x;
+        }
+        if (x > this.maxX) {
+            this.maxX = x;
+        }
+        if (y < this.minY) {
+            this.minY = y;
+        }
+        if (y > this.maxY) {
+            this.maxY = y;
+        }
+        if (z < this.minZ) {
+            this.minZ = z;
+        }
+        if (z > this.maxZ) {
+            this.maxZ = z;
+        }
+    }
+
+    public void add(Vector3D v) {
+        this.add(v.getX(), v.getY(), v.getZ());
+    }
+
+    public void add(Polygon3D poly) {
+        for (int i = 0; i < poly.vertexCount(); i++) {
+            this.add(poly.get(i));
+        }
+    }
+
+    public void add(BoundingBox3D box) {
+        if (!box.isEmpty()) {
+            this.add(box.minX, box.minY, box.minZ);
+            this.add(box.maxX, box.maxY, box.maxZ);
+        }
+    }
+
+    public void translate(float x, float y, float z) {
+        this.minX += x;
+        this.minY += y;
+        this.minZ += z;
+        this.maxX += x;
+        this.maxY += y;
+        this.maxZ += z;
+    }
+
+    public void transform(BoundingBox3D box, Matrix4D matrix) {
+        if (box.isEmpty()) {
+            this.clear();
+            return;
+        }
+        float cx = (box.minX + box.maxX) / 2;
+        float cy = (box.minY + box.maxY) / 2;
+        float cz = (box.minZ + box.maxZ) / 2;
+        float ex = (box.maxX - box.minX) / 2;
+        float ey = (box.maxY - box.minY) / 2;
+        float ez = (box.maxZ - box.minZ) / 2;
+        float centerX = cx * matrix.get(0) + cy * matrix.get(4) + cz * matrix.get(8) + matrix.get(12);
+        float centerY = cx * matrix.get(1) + cy * matrix.get(5) + cz * matrix.get(9) + matrix.get(13);
+        float centerZ = cx * matrix.get(2) + cy * matrix.get(6) + cz * matrix.get(10) + matrix.get(14);
+        float extentX = ex * Math.abs(matrix.get(0)) + ey * Math.abs(matrix.get(4)) + ez * Math.abs(matrix.get(8));
+        float extentY = ex * Math.abs(matrix.get(1)) + ey * Math.abs(matrix.get(5)) + ez * Math.abs(matrix.get(9));
+        float extentZ = ex * Math.abs(matrix.get(2)) + ey * Math.abs(matrix.get(6)) + ez * Math.abs(matrix.get(10));
+        this.set(centerX - extentX, centerY - extentY, centerZ - extentZ,
+                centerX + extentX, centerY + extentY, centerZ + extentZ);
+    }
+
+    public boolean contains(float x, float y, float z) {
+        return x >= this.minX && x <= this.maxX && y >= this.minY && y <= this.maxY && z >= this.minZ && z <= this.maxZ;
+    }
+
+    public boolean contains(Vector3D v) {
+        return this.contains(v.getX(), v.getY(), v.getZ());
+    }
+
+    public boolean intersects(BoundingBox3D box) {
+        return this.minX <= box.maxX && this.maxX >= box.minX &&
+                this.minY <= box.maxY && this.maxY >= box.minY &&
+                this.minZ <= box.maxZ && this.maxZ >= box.minZ;
+    }
+
+    public float surfaceArea() {
+        if (this.isEmpty()) {
+            return 0;
+        }
+        float dx = this.maxX - this.minX;
+        float dy = this.maxY - this.minY;
+        float dz = this.maxZ - this.minZ;
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMinZ() {
+        return minZ;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    public float getMaxZ() {
+        return maxZ;
+    }
+
+    public float getCenterX() {
+        return (this.minX + this.maxX) / 2;
+    }
+
+    public float getCenterY() {
+        return (this.minY + this.maxY) / 2;
+    }
+
+    public float getCenterZ() {
+        return (this.minZ + this.maxZ) / 2;
+    }
+
+    public float getWidth() {
+        return this.maxX - this.minX;
+    }
+
+    public float getHeight() {
+        return this.maxY - this.minY;
+    }
+
+    public float getDepth() {
+        return this.maxZ - this.minZ;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox3D={" + this.minX + ", " + this.minY + ", " + this.minZ + ", " +
+                this.maxX + ", " + this.maxY + ", " + this.maxZ + "}";
+    }
+
+}
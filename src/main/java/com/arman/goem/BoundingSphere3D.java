@@ -0,0 +1,157 @@
+package com.arman.geom;
+
+import org.jetbrains.annotations.NotNull;
+
+public class BoundingSphere3D {
+
+    private float x, y, z;
+    private float radius;
+
+    public BoundingSphere3D() {
+        this.clear();
+    }
+
+    public BoundingSphere3D(float x, float y, float z, float radius) {
+        this.set(x, y, z, radius);
+    }
+
+    public BoundingSphere3D(@NotNull BoundingSphere3D sphere) {
+        this.set(sphere);
+    }
+
+    public void clear() {
+        this.set(0, 0, 0, -1);
+    }
+
+    public boolean isEmpty() {
+        return this.radius < 0;
+    }
+
+    public void set(BoundingSphere3D sphere) {
+        this.set(sphere.x, sphere.y, sphere.z, sphere.radius);
+    }
+
+    public void set(float x, float y, float z, float radius) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.radius = radius;
+    }
+
+    public void set(BoundingBox3D box) {
+        if (box.isEmpty()) {
+            this.clear();
+        } else {
+            this.set(box.getCenterX(), box.getCenterY(), box.getCenterZ(), 0);
+        }
+    }
+
+    public void extend(Vector3D v) {
+        if (this.isEmpty()) {
+            this.set(v.getX(), v.getY(), v.getZ(), 0);
+            return;
+        }
+        float distanceSquared = this.distanceSquared(v);
+        if (distanceSquared > this.radius * this.radius) {
+            this.radius = (float) Math.sqrt(distanceSquared);
+        }
+    }
+
+    public void add(float x, float y, float z) {
+        if (this.isEmpty()) {
+            this.set(x, y, z, 0);
+            return;
+        }
+        float dx = x - this.x;
+        float dy = y - this.y;
+        float dz = z - this.z;
+        float distanceSquared = dx * dx + dy * dy + dz * dz;
+        if (distanceSquared > this.radius * this.radius) {
+            float distance = (float) Math.sqrt(distanceSquared);
+            float newRadius = (this.radius + distance) / 2;
+            float shift = (newRadius - this.radius) / distance;
+            this.x += dx * shift;
+            this.y += dy * shift;
+            this.z += dz * shift;
+            this.radius = newRadius;
+        }
+    }
+
+    public void add(Vector3D v) {
+        this.add(v.getX(), v.getY(), v.getZ());
+    }
+
+    public void add(Polygon3D poly) {
+        for (int i = 0; i < poly.vertexCount(); i++) {
+            this.add(poly.get(i));
+        }
+    }
+
+    public void translate(float x, float y, float z) {
+        this.x += x;
+        this.y += y;
+        this.z += z;
+    }
+
+    public void transform(BoundingSphere3D sphere, Matrix4D matrix) {
+        if (sphere.isEmpty()) {
+            this.clear();
+            return;
+        }
+        float cx = sphere.x;
+        float cy = sphere.y;
+        float cz = sphere.z;
+        float scale = 0;
+        for (int row = 0; row < 3; row++) {
+            float a = matrix.get(row, 0);
+            float b = matrix.get(row, 1);
+            float c = matrix.get(row, 2);
+            scale = Math.max(scale, a * a + b * b + c * c);
+        }
+        this.x = cx * matrix.get(0) + cy * matrix.get(4) + cz * matrix.get(8) + matrix.get(12);
+        this.y = cx * matrix.get(1) + cy * matrix.get(5) + cz * matrix.get(9) + matrix.get(13);
+        this.z = cx * matrix.get(2) + cy * matrix.get(6) + cz * matrix.get(10) + matrix.get(14);
+        this.radius = sphere.radius * (float) Math.sqrt(scale);
+    }
+
+    public float distanceSquared(Vector3D v) {
+        float dx = v.getX() - this.x;
+        float dy = v.getY() - this.y;
+        float dz = v.getZ() - this.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    public boolean contains(Vector3D v) {
+        return this.distanceSquared(v) <= this.radius * this.radius;
+    }
+
+    public boolean intersects(BoundingSphere3D sphere) {
+        float dx = sphere.x - this.x;
+        float dy = sphere.y - this.y;
+        float dz = sphere.z - this.z;
+        float r = sphere.radius + this.radius;
+        return dx * dx + dy * dy + dz * dz <= r * r;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getZ() {
+        return z;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingSphere3D={" + this.x + ", " + this.y + ", " + this.z + ", " + this.radius + "}";
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.arman.geom;
+
+public class Frustum3D {
+
+    public static final int OUTSIDE = 0;
+    public static final int INTERSECTING = 1;
+    public static final int INSIDE = 2;
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int BOTTOM = 2;
+    public static final int TOP = 3;
+    public static final int NEAR = 4;
+    public static final int FAR = 5;
+
+    public static final int PLANE_COUNT = 6;
+
+    private float[] planes;
+    private Vector3D normal;
+
+    public Frustum3D() {
+        this.planes = new float[PLANE_COUNT * 4];
+        this.normal = new Vector3D();
+    }
+
+    public Frustum3D(float halfWidth, float halfHeight, float distance, float near, float far) {
+        this();
+        this.set(halfWidth, halfHeight, distance, near, far);
+    }
+
+    public void set(float halfWidth, float halfHeight, float distance, float near, float far) {
+        this.setPlane(LEFT, distance, 0, halfWidth, 0);
+        this.setPlane(RIGHT, -distance, 0, halfWidth, 0);
+        this.setPlane(BOTTOM, 0, distance, halfHeight, 0);
+        this.setPlane(TOP, 0, -distance, halfHeight, 0);
+        this.setPlane(NEAR, 0, 0, 1, near);
+        this.setPlane(FAR, 0, 0, -1, -far);
+    }
+
+    public void set(Frustum3D frustum) {
+        System.arraycopy(frustum.planes, 0, this.planes, 0, this.planes.length);
+    }
+
+    public void setPlane(int plane, float nx, float ny, float nz, float d) {
+        float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+        int offset = plane * 4;
+        this.planes[offset] = nx / length;
+        this.planes[offset + 1] = ny / length;
+        this.planes[offset + 2] = nz / length;
+        this.planes[offset + 3] = d / length;
+    }
+
+    public float[] getPlanes() {
+        return this.planes;
+    }
+
+    public void transform(Frustum3D frustum, Transform3D transform) {
+        Vector3D t = transform.getTranslation();
+        float s = transform.getScaleFactor();
+        for (int i = 0; i < PLANE_COUNT; i++) {
+            int offset = i * 4;
+            this.normal.setX(frustum.planes[offset]);
+            this.normal.setY(frustum.planes[offset + 1]);
+            this.normal.setZ(frustum.planes[offset + 2]);
+            float d = frustum.planes[offset + 3];
+            transform.rotate(this.normal);
+            this.planes[offset] = this.normal.getX();
+            this.planes[offset + 1] = this.normal.getY();
+            this.planes[offset + 2] = this.normal.getZ();
+            this.planes[offset + 3] = s * (this.normal.dot(t) + d);
+        }
+    }
+
+    public int classify(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        int result = INSIDE;
+        for (int offset = 0; offset < this.planes.length; offset += 4) {
+            float nx = this.planes[offset];
+            float ny = this.planes[offset + 1];
+            float nz = this.planes[offset + 2];
+            float d = this.planes[offset + 3];
+            float px = nx >= 0 ? maxX : minX;
+            float py = ny >= 0 ? maxY : minY;
+            float pz = nz >= 0 ? maxZ : minZ;
+            if (nx * px + ny * py + nz * pz < d) {
+                return OUTSIDE;
+            }
+            float qx = nx >= 0 ? minX : maxX;
+            float qy = ny >= 0 ? minY : maxY;
+            float qz = nz >= 0 ? minZ : maxZ;
+            if (nx * qx + ny * qy + nz * qz < d) {
+                result = INTERSECTING;
+            }
+        }
+        return result;
+    }
+
+    public int classify(BoundingBox3D box) {
+        if (box.isEmpty()) {
+            return OUTSIDE;
+        }
+        return this.classify(box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ());
+    }
+
+    public int classify(float x, float y, float z, float radius) {
+        int result = INSIDE;
+        for (int offset = 0; offset < this.planes.length; offset += 4) {
+            float distance = this.planes[offset] * x + this.planes[offset + 1] * y + this.planes[offset + 2] * z
+                    - this.planes[offset + 3];
+            if (distance < -radius) {
+                return OUTSIDE;
+            }
+            if (distance < radius) {
+                result = INTERSECTING;
+            }
+        }
+        return result;
+    }
+
+    public int classify(BoundingSphere3D sphere) {
+        if (sphere.isEmpty()) {
+            return OUTSIDE;
+        }
+        return this.classify(sphere.getX(), sphere.getY(), sphere.getZ(), sphere.getRadius());
+    }
+
+    public boolean contains(Vector3D v) {
+        return this.classify(v.getX(), v.getY(), v.getZ(), 0) != OUTSIDE;
+    }
+
+}
@@ -79,6 +79,85 @@ public class Matrix4D {
         return new Matrix4D(rotationZ.multiplication(rotationY.multiplication(rotationX)));
     }
 
+    @NotNull
+    public static Matrix4D rotation(@NotNull Quaternion q) {
+        Matrix4D rotation = new Matrix4D();
+        rotation.setRotation(q);
+        return rotation;
+    }
+
+    public void setRotation(Quaternion q) {
+        q.toMatrix(this.matrix);
+    }
+
+    public void setRotation(Rotation3D rotation) {
+        this.setRotationRow(0, rotation, 1, 0, 0);
+        this.setRotationRow(1, rotation, 0, 1, 0);
+        this.setRotationRow(2, rotation, 0, 0, 1);
+        this.matrix[12] = 0;
+        this.matrix[13] = 0;
+        this.matrix[14] = 0;
+        this.matrix[15] = 1;
+    }
+
+    private void setRotationRow(int row, Rotation3D rotation, float x, float y, float z) {
+        float cos = rotation.getCosAngleX();
+        float sin = rotation.getSinAngleX();
+        float temp = y * cos - z * sin;
+        z = y * sin + z * cos;
+        y = temp;
+        cos = rotation.getCosAngleZ();
+        sin = rotation.getSinAngleZ();
+        temp = x * cos - y * sin;
+        y = x * sin + y * cos;
+        x = temp;
+        cos = rotation.getCosAngleY();
+        sin = rotation.getSinAngleY();
+        temp = z * sin + x * cos;
+        z = z * cos - x * sin;
+        x = temp;
+        this.matrix[row * DIMENSION] = x;
+        this.matrix[row * DIMENSION + 1] = y;
+        this.matrix[row * DIMENSION + 2] = z;
+        this.matrix[row * DIMENSION + 3] = 0;
+    }
+
+    public float get(int index) {
+        return this.matrix[index];
+    }
+
+    public float get(int row, int column) {
+        return this.matrix[row * DIMENSION + column];
+    }
+
+    public void set(int index, float value) {
+        this.matrix[index] = value;
+    }
+
+    public void setIdentity() {
+        System.arraycopy(IDENTITY.matrix, 0, this.matrix, 0, SIZE);
+    }
+
+    public void set(Matrix4D matrix) {
+        System.arraycopy(matrix.matrix, 0, this.matrix, 0, SIZE);
+    }
+
+    public void multiply(Matrix4D a, Matrix4D b) {
+        if (this == a || this == b) {
+            this.set(a.multiplication(b));
+            return;
+        }
+        for (int i = 0; i < DIMENSION; i++) {
+            for (int j = 0; j < DIMENSION; j++) {
+                float sum = 0;
+                for (int k = 0; k < DIMENSION; k++) {
+                    sum += a.matrix[i * DIMENSION + k] * b.matrix[k * DIMENSION + j];
+                }
+                this.matrix[i * DIMENSION + j] = sum;
+            }
+        }
+    }
+
     public void multiply(Matrix4D matrix) {
         this.matrix = this.multiplication(matrix).matrix;
     }
@@ -88,7 +167,7 @@ public class Matrix4D {
         for (int i = 0; i < DIMENSION; i++) {
             for (int j = 0; j < DIMENSION; j++) {
                 for (int k = 0; k < DIMENSION; k++) {
-                    result[i * DIMENSION + j] += this.matrix[i * DIMENSION + k] + matrix.matrix[k * DIMENSION + j];
+                    result[i * DIMENSION + j] += this.matrix[i * DIMENSION + k] * matrix.matrix[k * DIMENSION + j];
                 }
             }
         }
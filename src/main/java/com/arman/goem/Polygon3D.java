@@ -78,9 +78,10 @@ public class Polygon3D {
         for (int i = 0; i < index; i++) {
             newVertices[i] = this.vertices[i];
         }
-        for (int i = index + 1; i < newVertices.length; i++) {
+        for (int i = index + 1; i < this.vertices.length; i++) {
             newVertices[i - 1] = this.vertices[i];
         }
+        this.vertices = newVertices;
     }
 
     public void add(Vector3D v) {
@@ -108,15 +109,15 @@ public class Polygon3D {
     }
 
     public void add(Transform3D transform) {
-        add(transform.getRotation());
-        add(transform.getTranslation());
-        scale(transform.getScaleFactor());
+        for (int i = 0; i < this.vertices.length; i++) {
+            this.vertices[i].add(transform);
+        }
     }
 
     public void subtract(Transform3D transform) {
-        scale(1 / transform.getScaleFactor());
-        subtract(transform.getTranslation());
-        subtract(transform.getRotation());
+        for (int i = 0; i < this.vertices.length; i++) {
+            this.vertices[i].subtract(transform);
+        }
     }
 
     public void set(Polygon3D p) {
@@ -159,48 +160,108 @@ public class Polygon3D {
     }
 
     public boolean isFacing(Vector3D v) {
-        Vector3D u = new Vector3D(v);
-        u.subtract(this.vertices[0]);
-        Vector3D normal1 = normal();
-        Vector3D normal2 = new Vector3D(normal1);
-        normal1.setZ(-Math.abs(normal1.getZ()));
-        normal2.setZ(Math.abs(normal2.getZ()));
-        return (normal1.dot(u) >= 0 || normal2.dot(u) >= 0);
+        Vector3D v0 = this.vertices[0];
+        Vector3D v1 = this.vertices[1];
+        Vector3D v2 = this.vertices[2];
+        float ax = v2.getX() - v1.getX();
+        float ay = v2.getY() - v1.getY();
+        float az = v2.getZ() - v1.getZ();
+        float bx = v0.getX() - v1.getX();
+        float by = v0.getY() - v1.getY();
+        float bz = v0.getZ() - v1.getZ();
+        float nx = ay * bz - az * by;
+        float ny = az * bx - ax * bz;
+        float nz = ax * by - ay * bx;
+        return isFacing(nx, ny, nz, v.getX() - v0.getX(), v.getY() - v0.getY(), v.getZ() - v0.getZ());
+    }
+
+    public static boolean isFacing(float nx, float ny, float nz, float ux, float uy, float uz) {
+        return nx * ux + ny * uy + Math.abs(nz * uz) >= 0;
     }
 
     public boolean clip(float clipZ) {
-        boolean visible = false;
-        for (int i = 0; i < this.vertexCount(); i++) {
-            int j = (i + 1) % this.vertexCount();
-            Vector3D v1 = this.vertices[i];
-            Vector3D v2 = this.vertices[j];
-            if (v1.getZ() > clipZ) {
-                visible = true;
-            }
-            if (v1.getZ() < v2.getZ()) {
-                Vector3D temp = v1;
-                v1 = v2;
-                v2 = temp;
+        int n = this.vertexCount();
+        int inside = 0;
+        int crossings = 0;
+        for (int i = 0; i < n; i++) {
+            boolean in1 = this.vertices[i].getZ() >= clipZ;
+            boolean in2 = this.vertices[(i + 1) % n].getZ() >= clipZ;
+            if (in1) {
+                inside++;
             }
-            if (v1.getZ() > clipZ && v2.getZ() < clipZ) {
-                float scale = (clipZ - v1.getZ()) / (v2.getZ() - v1.getZ());
-                addVertex(j, v1.getX() + scale * (v2.getX() - v1.getX()), v1.getY() + scale * (v2.getY() - v1.getY()), clipZ);
-                i++;
+            if (in1 != in2) {
+                crossings++;
             }
         }
-        if (!visible) {
+        if (inside == 0) {
             return false;
         }
-        for (int i = this.vertexCount() - 1; i >= 0; i--) {
-            if (this.vertices[i].getZ() < clipZ) {
-                removeVertex(i);
+        if (inside == n) {
+            return n >= 3;
+        }
+        Vector3D[] clipped = new Vector3D[inside + crossings];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Vector3D v1 = this.vertices[i];
+            Vector3D v2 = this.vertices[(i + 1) % n];
+            boolean in1 = v1.getZ() >= clipZ;
+            if (in1) {
+                clipped[count++] = v1;
+            }
+            if (in1 != (v2.getZ() >= clipZ)) {
+                float scale = (clipZ - v1.getZ()) / (v2.getZ() - v1.getZ());
+                clipped[count++] = new Vector3D(v1.getX() + scale * (v2.getX() - v1.getX()),
+                        v1.getY() + scale * (v2.getY() - v1.getY()), clipZ);
             }
         }
-        return this.vertexCount() >= 3;
+        this.vertices = clipped;
+        return count >= 3;
     }
 
     public Rectangle3D getBounds() {
-        return null;
+        if (this.vertexCount() < 3) {
+            return null;
+        }
+        Vector3D origin = this.vertices[0];
+        Vector3D du = new Vector3D(this.vertices[1]);
+        du.subtract(origin);
+        du.normalize();
+        Vector3D dv = normal().cross(du);
+        dv.normalize();
+        float uMin = 0;
+        float uMax = 0;
+        float vMin = 0;
+        float vMax = 0;
+        Vector3D d = new Vector3D();
+        for (int i = 1; i < this.vertexCount(); i++) {
+            d.set(this.vertices[i]);
+            d.subtract(origin);
+            float u = d.dot(du);
+            float v = d.dot(dv);
+            uMin = Math.min(u, uMin);
+            uMax = Math.max(u, uMax);
+            vMin = Math.min(v, vMin);
+            vMax = Math.max(v, vMax);
+        }
+        Vector3D corner = new Vector3D(origin.getX() + du.getX() * uMin + dv.getX() * vMin,
+                origin.getY() + du.getY() * uMin + dv.getY() * vMin,
+                origin.getZ() + du.getZ() * uMin + dv.getZ() * vMin);
+        return new Rectangle3D(corner, du, dv, uMax - uMin, vMax - vMin);
+    }
+
+    public BoundingBox3D getBoundingBox() {
+        BoundingBox3D box = new BoundingBox3D();
+        box.add(this);
+        return box;
+    }
+
+    public BoundingSphere3D getBoundingSphere() {
+        BoundingSphere3D sphere = new BoundingSphere3D();
+        sphere.set(this.getBoundingBox());
+        for (int i = 0; i < this.vertexCount(); i++) {
+            sphere.extend(this.vertices[i]);
+        }
+        return sphere;
     }
 
     @Override
@@ -4,6 +4,8 @@ import org.jetbrains.annotations.NotNull;
 
 public class Quaternion {
 
+    private static final float SLERP_THRESHOLD = 0.9995f;
+
     private float x, y, z, w;
 
     public Quaternion() {
@@ -65,34 +67,164 @@ public class Quaternion {
         this.z = -this.z;
     }
 
+    public void set(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    public void set(float angleX, float angleY, float angleZ) {
+        float cx = (float) Math.cos(angleX / 2);
+        float sx = (float) Math.sin(angleX / 2);
+        float cy = (float) Math.cos(angleY / 2);
+        float sy = (float) Math.sin(angleY / 2);
+        float cz = (float) Math.cos(angleZ / 2);
+        float sz = (float) Math.sin(angleZ / 2);
+        this.set(cx, sx, cy, sy, cz, sz);
+    }
+
+    public void set(Rotation3D rotation) {
+        this.set(halfCos(rotation.getCosAngleX()), halfSin(rotation.getCosAngleX(), rotation.getSinAngleX()),
+                halfCos(rotation.getCosAngleY()), halfSin(rotation.getCosAngleY(), rotation.getSinAngleY()),
+                halfCos(rotation.getCosAngleZ()), halfSin(rotation.getCosAngleZ(), rotation.getSinAngleZ()));
+    }
+
+    // Same order as Vector3D.add(Rotation3D): x first, then z, then y, so q = qy * qz * qx.
+    private void set(float cx, float sx, float cy, float sy, float cz, float sz) {
+        float zxX = cz * sx;
+        float zxY = sz * sx;
+        float zxZ = sz * cx;
+        float zxW = cz * cx;
+        this.x = cy * zxX + sy * zxZ;
+        this.y = cy * zxY + sy * zxW;
+        this.z = cy * zxZ - sy * zxX;
+        this.w = cy * zxW - sy * zxY;
+    }
+
+    private static float halfCos(float cosAngle) {
+        return (float) Math.sqrt(Math.max(0, (1 + cosAngle) / 2));
+    }
+
+    private static float halfSin(float cosAngle, float sinAngle) {
+        float halfSin = (float) Math.sqrt(Math.max(0, (1 - cosAngle) / 2));
+        return sinAngle < 0 ? -halfSin : halfSin;
+    }
+
+    public void setIdentity() {
+        this.set(0, 0, 0, 1);
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getZ() {
+        return z;
+    }
+
+    public float getW() {
+        return w;
+    }
+
     public Vector3D transform(Vector3D v) {
-        Quaternion q1 = new Quaternion(this);
-        q1.conjugate();
-        Quaternion q2 = new Quaternion(v.getX(), v.getY(), v.getZ(), 0);
-        Quaternion q3 = this.multiplied(q2.multiplied(q1));
-        v.setX(q1.x);
-        v.setY(q1.y);
-        v.setZ(q1.z);
+        this.rotate(v);
         return v;
     }
 
-    public void multiply(Quaternion q) {
-        float newX = this.w * q.x + this.x * q.w + this.y * q.z - this.z * q.y;
-        float newY = this.w * q.y + this.y * q.w + this.z * q.x - this.x * q.z;
-        float newZ = this.w * q.z + this.z * q.w + this.x * q.y - this.y * q.x;
-        float newW = this.w * q.w + this.x * q.x + this.y * q.y - this.z * q.z;
+    public void rotate(Vector3D v) {
+        this.rotate(v, this.x, this.y, this.z);
+    }
+
+    public void inverseRotate(Vector3D v) {
+        this.rotate(v, -this.x, -this.y, -this.z);
+    }
+
+    private void rotate(Vector3D v, float qx, float qy, float qz) {
+        float vx = v.getX();
+        float vy = v.getY();
+        float vz = v.getZ();
+        float tx = 2 * (qy * vz - qz * vy);
+        float ty = 2 * (qz * vx - qx * vz);
+        float tz = 2 * (qx * vy - qy * vx);
+        v.setX(vx + this.w * tx + qy * tz - qz * ty);
+        v.setY(vy + this.w * ty + qz * tx - qx * tz);
+        v.setZ(vz + this.w * tz + qx * ty - qy * tx);
+    }
+
+    public void multiply(Quaternion a, Quaternion b) {
+        float newX = a.w * b.x + a.x * b.w + a.y * b.z - a.z * b.y;
+        float newY = a.w * b.y + a.y * b.w + a.z * b.x - a.x * b.z;
+        float newZ = a.w * b.z + a.z * b.w + a.x * b.y - a.y * b.x;
+        float newW = a.w * b.w - a.x * b.x - a.y * b.y - a.z * b.z;
         this.x = newX;
         this.y = newY;
         this.z = newZ;
         this.w = newW;
     }
 
+    public void multiply(Quaternion q) {
+        this.multiply(this, q);
+    }
+
     public Quaternion multiplied(Quaternion q) {
-        float newX = this.w * q.x + this.x * q.w + this.y * q.z - this.z * q.y;
-        float newY = this.w * q.y + this.y * q.w + this.z * q.x - this.x * q.z;
-        float newZ = this.w * q.z + this.z * q.w + this.x * q.y - this.y * q.x;
-        float newW = this.w * q.w + this.x * q.x + this.y * q.y - this.z * q.z;
-        return new Quaternion(newX, newY, newZ, newW);
+        Quaternion result = new Quaternion();
+        result.multiply(this, q);
+        return result;
+    }
+
+    public void slerp(Quaternion from, Quaternion to, float t) {
+        float cosTheta = from.dot(to);
+        float sign = 1;
+        if (cosTheta < 0) {
+            cosTheta = -cosTheta;
+            sign = -1;
+        }
+        float f0 = 1 - t;
+        float f1 = t;
+        if (cosTheta < SLERP_THRESHOLD) {
+            float theta = (float) Math.acos(cosTheta);
+            float invSinTheta = 1 / (float) Math.sin(theta);
+            f0 = (float) Math.sin(f0 * theta) * invSinTheta;
+            f1 = (float) Math.sin(f1 * theta) * invSinTheta;
+        }
+        f1 *= sign;
+        this.set(f0 * from.x + f1 * to.x, f0 * from.y + f1 * to.y, f0 * from.z + f1 * to.z, f0 * from.w + f1 * to.w);
+        if (cosTheta >= SLERP_THRESHOLD) {
+            this.normalize();
+        }
+    }
+
+    public void toMatrix(float[] matrix) {
+        float xx = this.x * this.x;
+        float yy = this.y * this.y;
+        float zz = this.z * this.z;
+        float xy = this.x * this.y;
+        float xz = this.x * this.z;
+        float yz = this.y * this.z;
+        float wx = this.w * this.x;
+        float wy = this.w * this.y;
+        float wz = this.w * this.z;
+        matrix[0] = 1 - 2 * (yy + zz);
+        matrix[1] = 2 * (xy + wz);
+        matrix[2] = 2 * (xz - wy);
+        matrix[3] = 0;
+        matrix[4] = 2 * (xy - wz);
+        matrix[5] = 1 - 2 * (xx + zz);
+        matrix[6] = 2 * (yz + wx);
+        matrix[7] = 0;
+        matrix[8] = 2 * (xz + wy);
+        matrix[9] = 2 * (yz - wx);
+        matrix[10] = 1 - 2 * (xx + yy);
+        matrix[11] = 0;
+        matrix[12] = 0;
+        matrix[13] = 0;
+        matrix[14] = 0;
+        matrix[15] = 1;
     }
 
     public void add(Quaternion q) {
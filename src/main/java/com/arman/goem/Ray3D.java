@@ -0,0 +1,198 @@
+package com.arman.geom;
+
+import org.jetbrains.annotations.NotNull;
+
+public class Ray3D {
+
+    public static final float EPSILON = 1e-7f;
+
+    private Vector3D origin;
+    private Vector3D direction;
+    private float inverseX, inverseY, inverseZ;
+
+    public Ray3D() {
+        this(new Vector3D(), new Vector3D(0, 0, 1));
+    }
+
+    public Ray3D(Vector3D origin, Vector3D direction) {
+        this.origin = new Vector3D();
+        this.direction = new Vector3D();
+        this.set(origin, direction);
+    }
+
+    public Ray3D(@NotNull Ray3D ray) {
+        this(ray.origin, ray.direction);
+    }
+
+    public void set(Ray3D ray) {
+        this.set(ray.origin, ray.direction);
+    }
+
+    public void set(Vector3D origin, Vector3D direction) {
+        this.set(origin.getX(), origin.getY(), origin.getZ(), direction.getX(), direction.getY(), direction.getZ());
+    }
+
+    public void set(float x, float y, float z, float dx, float dy, float dz) {
+        this.origin.setX(x);
+        this.origin.setY(y);
+        this.origin.setZ(z);
+        this.direction.setX(dx);
+        this.direction.setY(dy);
+        this.direction.setZ(dz);
+        this.inverseX = 1 / dx;
+        this.inverseY = 1 / dy;
+        this.inverseZ = 1 / dz;
+    }
+
+    public void add(Transform3D transform) {
+        this.origin.add(transform);
+        this.direction.multiply(transform.getScaleFactor());
+        transform.rotate(this.direction);
+        this.set(this.origin, this.direction);
+    }
+
+    public void subtract(Transform3D transform) {
+        this.origin.subtract(transform);
+        this.direction.divide(transform.getScaleFactor());
+        transform.unrotate(this.direction);
+        this.set(this.origin, this.direction);
+    }
+
+    public Vector3D getOrigin() {
+        return origin;
+    }
+
+    public Vector3D getDirection() {
+        return direction;
+    }
+
+    public float getInverseX() {
+        return inverseX;
+    }
+
+    public float getInverseY() {
+        return inverseY;
+    }
+
+    public float getInverseZ() {
+        return inverseZ;
+    }
+
+    public void getPoint(float t, Vector3D point) {
+        point.setX(this.origin.getX() + t * this.direction.getX());
+        point.setY(this.origin.getY() + t * this.direction.getY());
+        point.setZ(this.origin.getZ() + t * this.direction.getZ());
+    }
+
+    public float intersect(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, float maxT) {
+        float ox = this.origin.getX();
+        float oy = this.origin.getY();
+        float oz = this.origin.getZ();
+        float t1 = (minX - ox) * this.inverseX;
+        float t2 = (maxX - ox) * this.inverseX;
+        float near = Math.min(t1, t2);
+        float far = Math.max(t1, t2);
+        t1 = (minY - oy) * this.inverseY;
+        t2 = (maxY - oy) * this.inverseY;
+        near = Math.max(near, Math.min(t1, t2));
+        far = Math.min(far, Math.max(t1, t2));
+        t1 = (minZ - oz) * this.inverseZ;
+        t2 = (maxZ - oz) * this.inverseZ;
+        near = Math.max(near, Math.min(t1, t2));
+        far = Math.min(far, Math.max(t1, t2));
+        if (far < Math.max(near, 0) || near > maxT) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return Math.max(near, 0);
+    }
+
+    public float intersect(BoundingBox3D box, float maxT) {
+        if (box.isEmpty()) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return this.intersect(box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ(), maxT);
+    }
+
+    public float intersect(float x, float y, float z, float radius, float maxT) {
+        float ox = this.origin.getX() - x;
+        float oy = this.origin.getY() - y;
+        float oz = this.origin.getZ() - z;
+        float dx = this.direction.getX();
+        float dy = this.direction.getY();
+        float dz = this.direction.getZ();
+        float a = dx * dx + dy * dy + dz * dz;
+        float b = ox * dx + oy * dy + oz * dz;
+        float c = ox * ox + oy * oy + oz * oz - radius * radius;
+        if (c <= 0) {
+            return 0;
+        }
+        float discriminant = b * b - a * c;
+        if (b > 0 || discriminant < 0) {
+            return Float.POSITIVE_INFINITY;
+        }
+        float t = (-b - (float) Math.sqrt(discriminant)) / a;
+        return t > maxT ? Float.POSITIVE_INFINITY : t;
+    }
+
+    public float intersect(BoundingSphere3D sphere, float maxT) {
+        if (sphere.isEmpty()) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return this.intersect(sphere.getX(), sphere.getY(), sphere.getZ(), sphere.getRadius(), maxT);
+    }
+
+    public boolean intersect(Vector3D v0, Vector3D v1, Vector3D v2, RayHit hit) {
+        float e1x = v1.getX() - v0.getX();
+        float e1y = v1.getY() - v0.getY();
+        float e1z = v1.getZ() - v0.getZ();
+        float e2x = v2.getX() - v0.getX();
+        float e2y = v2.getY() - v0.getY();
+        float e2z = v2.getZ() - v0.getZ();
+        float dx = this.direction.getX();
+        float dy = this.direction.getY();
+        float dz = this.direction.getZ();
+        float px = dy * e2z - dz * e2y;
+        float py = dz * e2x - dx * e2z;
+        float pz = dx * e2y - dy * e2x;
+        float det = e1x * px + e1y * py + e1z * pz;
+        if (det > -EPSILON && det < EPSILON) {
+            return false;
+        }
+        float inverse = 1 / det;
+        float sx = this.origin.getX() - v0.getX();
+        float sy = this.origin.getY() - v0.getY();
+        float sz = this.origin.getZ() - v0.getZ();
+        float u = (sx * px + sy * py + sz * pz) * inverse;
+        if (u < 0 || u > 1) {
+            return false;
+        }
+        float qx = sy * e1z - sz * e1y;
+        float qy = sz * e1x - sx * e1z;
+        float qz = sx * e1y - sy * e1x;
+        float v = (dx * qx + dy * qy + dz * qz) * inverse;
+        if (v < 0 || u + v > 1) {
+            return false;
+        }
+        float t = (e2x * qx + e2y * qy + e2z * qz) * inverse;
+        if (t < 0 || t >= hit.getT()) {
+            return false;
+        }
+        hit.set(t, u, v);
+        return true;
+    }
+
+    public boolean intersect(Polygon3D poly, RayHit hit) {
+        boolean result = false;
+        Vector3D v0 = poly.get(0);
+        for (int i = 2; i < poly.vertexCount(); i++) {
+            result |= this.intersect(v0, poly.get(i - 1), poly.get(i), hit);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Ray3D={" + this.origin + ", " + this.direction + "}";
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.arman.geom;
+
+public class RayHit {
+
+    private float t;
+    private float u;
+    private float v;
+    private int face;
+    private Object object;
+
+    public RayHit() {
+        this.clear();
+    }
+
+    public RayHit(float maxT) {
+        this.clear(maxT);
+    }
+
+    public void clear() {
+        this.clear(Float.POSITIVE_INFINITY);
+    }
+
+    public void clear(float maxT) {
+        this.t = maxT;
+        this.u = 0;
+        this.v = 0;
+        this.face = -1;
+        this.object = null;
+    }
+
+    public boolean isHit() {
+        return this.face >= 0;
+    }
+
+    public void set(float t, float u, float v) {
+        this.t = t;
+        this.u = u;
+        this.v = v;
+    }
+
+    public float getT() {
+        return t;
+    }
+
+    public float getU() {
+        return u;
+    }
+
+    public float getV() {
+        return v;
+    }
+
+    public float getW() {
+        return 1 - u - v;
+    }
+
+    public int getFace() {
+        return face;
+    }
+
+    public void setFace(int face) {
+        this.face = face;
+    }
+
+    public Object getObject() {
+        return object;
+    }
+
+    public void setObject(Object object) {
+        this.object = object;
+    }
+
+    @Override
+    public String toString() {
+        return "RayHit={" + this.t + ", " + this.u + ", " + this.v + ", " + this.face + "}";
+    }
+
+}
@@ -62,14 +62,14 @@ public class Rectangle3D extends Polygon3D {
 
     public void add(Transform3D transform) {
         this.origin.add(transform);
-        this.du.add(transform.getRotation());
-        this.dv.add(transform.getRotation());
+        transform.rotate(this.du);
+        transform.rotate(this.dv);
     }
 
     public void subtract(Transform3D transform) {
         this.origin.subtract(transform);
-        this.du.add(transform.getRotation());
-        this.dv.add(transform.getRotation());
+        transform.unrotate(this.du);
+        transform.unrotate(this.dv);
     }
 
 }
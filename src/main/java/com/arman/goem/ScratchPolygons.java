@@ -0,0 +1,29 @@
+package com.arman.geom;
+
+import java.util.Arrays;
+
+public class ScratchPolygons {
+
+    private Polygon3D[] polygons;
+
+    public ScratchPolygons() {
+        this.polygons = new Polygon3D[5];
+    }
+
+    public Polygon3D get(int count) {
+        if (count >= this.polygons.length) {
+            this.polygons = Arrays.copyOf(this.polygons, count + 1);
+        }
+        Polygon3D polygon = this.polygons[count];
+        if (polygon == null) {
+            Vector3D[] vertices = new Vector3D[count];
+            for (int i = 0; i < count; i++) {
+                vertices[i] = new Vector3D();
+            }
+            polygon = new Polygon3D(vertices);
+            this.polygons[count] = polygon;
+        }
+        return polygon;
+    }
+
+}
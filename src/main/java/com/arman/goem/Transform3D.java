@@ -7,6 +7,7 @@ public class Transform3D {
     private Vector3D translation;
     private float scaleFactor;
     private Rotation3D rotation;
+    private Quaternion orientation;
 
     public Transform3D() {
         this(new Vector3D());
@@ -45,7 +46,12 @@ public class Transform3D {
     }
 
     public Transform3D(Vector3D translation, @NotNull Rotation3D rotation) {
-        this(new Vector3D(), 1.0f, rotation);
+        this(translation, 1.0f, rotation);
+    }
+
+    public Transform3D(Vector3D translation, float scaleFactor, @NotNull Quaternion orientation) {
+        this(translation, scaleFactor, new Rotation3D());
+        this.orientation = new Quaternion(orientation);
     }
 
     public Transform3D(Vector3D translation, float scaleFactor, float angleX, float angleY, float angleZ) {
@@ -78,8 +84,124 @@ public class Transform3D {
         return rotation;
     }
 
+    public Quaternion getOrientation() {
+        return orientation;
+    }
+
+    public boolean hasOrientation() {
+        return this.orientation != null;
+    }
+
+    public void setOrientation(Quaternion orientation) {
+        if (this.orientation == null) {
+            this.orientation = new Quaternion(orientation);
+        } else {
+            this.orientation.set(orientation);
+        }
+    }
+
+    public void useOrientation() {
+        if (this.orientation == null) {
+            this.orientation = new Quaternion();
+            this.orientation.set(this.rotation);
+        }
+    }
+
+    public Quaternion toOrientation(Quaternion result) {
+        if (this.orientation != null) {
+            result.set(this.orientation);
+        } else {
+            result.set(this.rotation);
+        }
+        return result;
+    }
+
+    public void useRotation() {
+        this.orientation = null;
+    }
+
+    public void setScaleFactor(float scaleFactor) {
+        this.scaleFactor = scaleFactor;
+    }
+
     public void translate(Vector3D v) {
         this.translation.add(v);
     }
 
+    public void rotate(Quaternion q) {
+        this.useOrientation();
+        this.orientation.multiply(q, this.orientation);
+        this.orientation.normalize();
+    }
+
+    public void rotate(Vector3D v) {
+        if (this.orientation != null) {
+            this.orientation.rotate(v);
+        } else {
+            v.add(this.rotation);
+        }
+    }
+
+    public void unrotate(Vector3D v) {
+        if (this.orientation != null) {
+            this.orientation.inverseRotate(v);
+        } else {
+            v.subtract(this.rotation);
+        }
+    }
+
+    public void slerp(Transform3D from, Transform3D to, float t) {
+        Quaternion start = from.toOrientation(new Quaternion());
+        Quaternion end = to.toOrientation(new Quaternion());
+        this.useOrientation();
+        Vector3D a = from.translation;
+        Vector3D b = to.translation;
+        this.translation.setX(a.getX() + t * (b.getX() - a.getX()));
+        this.translation.setY(a.getY() + t * (b.getY() - a.getY()));
+        this.translation.setZ(a.getZ() + t * (b.getZ() - a.getZ()));
+        this.scaleFactor = from.scaleFactor + t * (to.scaleFactor - from.scaleFactor);
+        this.orientation.slerp(start, end, t);
+    }
+
+    public void toMatrix(Matrix4D matrix) {
+        if (this.orientation != null) {
+            matrix.setRotation(this.orientation);
+        } else {
+            matrix.setRotation(this.rotation);
+        }
+        matrix.multiply(this.scaleFactor);
+        matrix.set(12, this.translation.getX() * this.scaleFactor);
+        matrix.set(13, this.translation.getY() * this.scaleFactor);
+        matrix.set(14, this.translation.getZ() * this.scaleFactor);
+        matrix.set(15, 1);
+    }
+
+    public void toInverseMatrix(Matrix4D matrix) {
+        if (this.orientation != null) {
+            matrix.setRotation(this.orientation);
+        } else {
+            matrix.setRotation(this.rotation);
+        }
+        for (int i = 0; i < 3; i++) {
+            for (int j = i + 1; j < 3; j++) {
+                float temp = matrix.get(i, j);
+                matrix.set(i * Matrix4D.DIMENSION + j, matrix.get(j, i));
+                matrix.set(j * Matrix4D.DIMENSION + i, temp);
+            }
+        }
+        float x = this.translation.getX();
+        float y = this.translation.getY();
+        float z = this.translation.getZ();
+        for (int j = 0; j < 3; j++) {
+            matrix.set(12 + j, -(x * matrix.get(0, j) + y * matrix.get(1, j) + z * matrix.get(2, j)));
+        }
+        float inverseScale = 1 / this.scaleFactor;
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                matrix.set(i * Matrix4D.DIMENSION + j, matrix.get(i, j) * inverseScale);
+            }
+        }
+        matrix.set(15, 1);
+    }
+
 }
@@ -79,7 +79,7 @@ public class Vector3D {
     }
 
     public void add(Transform3D transform) {
-        add(transform.getRotation());
+        transform.rotate(this);
         add(transform.getTranslation());
         multiply(transform.getScaleFactor());
     }
@@ -87,7 +87,7 @@ public class Vector3D {
     public void subtract(Transform3D transform) {
         divide(transform.getScaleFactor());
         subtract(transform.getTranslation());
-        subtract(transform.getRotation());
+        transform.unrotate(this);
     }
 
     public void rotateX(float angle) {
@@ -1,5 +1,6 @@
 package com.arman.main;
 
+import com.arman.geom.Ray3D;
 import com.arman.geom.Transform3D;
 import com.arman.geom.Vector3D;
 
@@ -27,4 +28,9 @@ public class Camera {
         return this.transform;
     }
 
+    public void getRay(View view, float screenX, float screenY, Ray3D ray) {
+        ray.set(0, 0, 0, view.screenXToViewX(screenX), view.screenYToViewY(screenY), view.getDistanceToCamera());
+        ray.add(this.transform);
+    }
+
 }
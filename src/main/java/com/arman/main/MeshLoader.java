@@ -27,9 +27,12 @@ public class MeshLoader {
     public Mesh load(String fileName) throws IOException {
         File file = new File(getClass().getClassLoader().getResource(fileName).toExternalForm().substring(6));
         mesh = new Mesh();
+        vertices.clear();
         mesh.setFilename(file.getName());
         path = file.getParentFile();
         parseFile(fileName);
+        mesh.updateIndices();
+        mesh.updatePlanes();
         return mesh;
     }
 
@@ -79,7 +82,9 @@ public class MeshLoader {
             StringTokenizer tokenizer = new StringTokenizer(line);
             String command = tokenizer.nextToken();
             if (command.equals("v")) {
-                vertices.add(new Vector3D(Float.parseFloat(tokenizer.nextToken()), Float.parseFloat(tokenizer.nextToken()), Float.parseFloat(tokenizer.nextToken())));
+                Vector3D v = new Vector3D(Float.parseFloat(tokenizer.nextToken()), Float.parseFloat(tokenizer.nextToken()), Float.parseFloat(tokenizer.nextToken()));
+                vertices.add(v);
+                mesh.addVertex(v);
             } else if (command.equals("f")) {
                 List<Vector3D> faceVertices = new ArrayList<>();
                 while (tokenizer.hasMoreTokens()) {
@@ -1,4 +1,87 @@
 package com.arman.main;
 
+import com.arman.geom.BoundingSphere3D;
+import com.arman.geom.Frustum3D;
+import com.arman.geom.Ray3D;
+import com.arman.geom.RayHit;
+import com.arman.models.Model;
+import com.arman.trees.LooseOctree;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class Scene {
+
+    private List<Model> models;
+    private Map<Model, Integer> handles;
+    private LooseOctree<Model> octree;
+    private int[] visible;
+
+    public Scene(float halfSize) {
+        this.models = new ArrayList<>();
+        this.handles = new IdentityHashMap<>();
+        this.octree = new LooseOctree<>(0, 0, 0, halfSize);
+        this.visible = new int[16];
+    }
+
+    public void add(Model model) {
+        BoundingSphere3D sphere = model.getBoundingSphere();
+        this.handles.put(model, this.octree.insert(model, sphere.getX(), sphere.getY(), sphere.getZ(), Math.max(0, sphere.getRadius())));
+        this.models.add(model);
+    }
+
+    public void remove(Model model) {
+        Integer handle = this.handles.remove(model);
+        if (handle != null) {
+            this.octree.remove(handle);
+            this.models.remove(model);
+        }
+    }
+
+    public void update(Model model) {
+        Integer handle = this.handles.get(model);
+        if (handle != null) {
+            BoundingSphere3D sphere = model.getBoundingSphere();
+            this.octree.move(handle, sphere.getX(), sphere.getY(), sphere.getZ(), Math.max(0, sphere.getRadius()));
+        }
+    }
+
+    public void update() {
+        for (Model model : this.models) {
+            this.update(model);
+        }
+    }
+
+    public void getVisible(Frustum3D frustum, List<Model> result) {
+        if (this.visible.length < this.models.size()) {
+            this.visible = new int[this.models.size()];
+        }
+        int count = this.octree.query(frustum, this.visible);
+        for (int i = 0; i < count; i++) {
+            result.add(this.octree.get(this.visible[i]));
+        }
+    }
+
+    public boolean pick(Ray3D ray, RayHit hit) {
+        if (this.visible.length < this.models.size()) {
+            this.visible = new int[this.models.size()];
+        }
+        int count = this.octree.query(ray, hit.getT(), this.visible);
+        boolean result = false;
+        for (int i = 0; i < count; i++) {
+            result |= this.octree.get(this.visible[i]).raycast(ray, hit);
+        }
+        return result;
+    }
+
+    public List<Model> getModels() {
+        return this.models;
+    }
+
+    public LooseOctree<Model> getOctree() {
+        return this.octree;
+    }
+
 }
@@ -3,6 +3,7 @@ package com.arman.main;
 import com.arman.geom.Polygon3D;
 import com.arman.geom.Vector3D;
 import com.arman.models.Mesh;
+import com.arman.projectors.Perspective;
 import com.arman.renderers.BasicRenderer;
 import com.arman.renderers.BoundingBox;
 import com.arman.renderers.Renderer;
@@ -18,11 +19,13 @@ public class View extends Canvas implements Runnable {
     private boolean running;
     private BufferStrategy bs;
     private BoundingBox bounds;
+    private Perspective perspective;
 
     private Renderer renderer;
 
     public View() {
         this.bounds = new BoundingBox(440, 330);
+        this.perspective = new Perspective(this);
         this.running = false;
     }
 
@@ -74,7 +77,7 @@ public class View extends Canvas implements Runnable {
 
 
     public float getDistanceToCamera() {
-        return (this.bounds.width / 2) / (float) Math.tan(0.5 * Math.PI / 2);
+        return this.perspective.getDistance();
     }
 
     @Override
@@ -133,8 +136,7 @@ public class View extends Canvas implements Runnable {
         Graphics2D g = (Graphics2D) this.bs.getDrawGraphics();
         g.setColor(Color.BLACK);
         g.fillRect(0, 0, this.getWidth(), this.getHeight());
-        g.setColor(Color.WHITE);
-        g.drawString("FPS: " + Time.fps, 10, 20);
+        this.renderer.before(g);
         g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
         int z = 5;
         this.renderer.draw(g, new Polygon3D(new Vector3D(100, 100, z), new Vector3D(100, 200, z), new Vector3D(200, 200, z), new Vector3D(200, 100, z), new Vector3D(150, 150, z)));
@@ -145,6 +147,9 @@ public class View extends Canvas implements Runnable {
         } catch (IOException e) {
             e.printStackTrace();
         }
+        this.renderer.after(g);
+        g.setColor(Color.WHITE);
+        g.drawString("FPS: " + Time.fps, 10, 20);
         g.dispose();
         this.bs.show();
     }
@@ -165,12 +170,12 @@ public class View extends Canvas implements Runnable {
         return -y + this.bounds.y + this.bounds.height / 2;
     }
 
+    public Perspective getPerspective() {
+        return perspective;
+    }
+
     public void project(Vector3D v) {
-        float distanceToCamera = getDistanceToCamera();
-        v.setX(distanceToCamera * v.getX() / v.getZ());
-        v.setY(distanceToCamera * v.getY() / v.getZ());
-        v.setX(viewXToScreenX(v.getX()));
-        v.setY(viewYToScreenY(v.getY()));
+        this.perspective.project(v, v);
     }
 
 }
@@ -0,0 +1,103 @@
+package com.arman.models;
+
+import java.util.Arrays;
+
+public class CompressedIndexBuffer {
+
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    private byte[] data;
+    private int[] blocks;
+    private int count;
+    private int blockSize;
+
+    public CompressedIndexBuffer(Mesh mesh) {
+        this(mesh.getIndices());
+    }
+
+    public CompressedIndexBuffer(int[] indices) {
+        this(indices, indices.length, DEFAULT_BLOCK_SIZE);
+    }
+
+    public CompressedIndexBuffer(int[] indices, int count, int blockSize) {
+        this.count = count;
+        this.blockSize = blockSize;
+        this.blocks = new int[(count + blockSize - 1) / blockSize + 1];
+        this.data = new byte[Math.max(16, count * 2)];
+        int position = 0;
+        for (int block = 0; block * blockSize < count; block++) {
+            this.blocks[block] = position;
+            int previous = 0;
+            int end = Math.min(count, (block + 1) * blockSize);
+            for (int i = block * blockSize; i < end; i++) {
+                int delta = indices[i] - previous;
+                previous = indices[i];
+                position = this.write((delta << 1) ^ (delta >> 31), position);
+            }
+        }
+        this.blocks[this.blocks.length - 1] = position;
+        this.data = Arrays.copyOf(this.data, position);
+    }
+
+    private int write(int value, int position) {
+        if (position + 5 > this.data.length) {
+            this.data = Arrays.copyOf(this.data, this.data.length * 2);
+        }
+        while ((value & ~0x7f) != 0) {
+            this.data[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        this.data[position++] = (byte) value;
+        return position;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getBlockCount() {
+        return this.blocks.length - 1;
+    }
+
+    public int getSize() {
+        return this.data.length;
+    }
+
+    public int decode(int block, int[] result) {
+        byte[] data = this.data;
+        int position = this.blocks[block];
+        int count = Math.min(this.blockSize, this.count - block * this.blockSize);
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int value = data[position++];
+            if (value < 0) {
+                value &= 0x7f;
+                int shift = 7;
+                int b;
+                do {
+                    b = data[position++];
+                    value |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+            }
+            previous += (value >>> 1) ^ -(value & 1);
+            result[i] = previous;
+        }
+        return count;
+    }
+
+    public int[] decode() {
+        int[] result = new int[this.count];
+        int[] block = new int[this.blockSize];
+        for (int i = 0; i < this.getBlockCount(); i++) {
+            int n = this.decode(i, block);
+            System.arraycopy(block, 0, result, i * this.blockSize, n);
+        }
+        return result;
+    }
+
+}
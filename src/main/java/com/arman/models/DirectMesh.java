@@ -0,0 +1,225 @@
+package com.arman.models;
+
+import com.arman.geom.Matrix4D;
+import com.arman.geom.Polygon3D;
+import com.arman.geom.Vector3D;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+public class DirectMesh {
+
+    public static final int HEADER_SIZE = 12;
+
+    private ByteBuffer buffer;
+    private FloatBuffer positions;
+    private IntBuffer offsets;
+    private IntBuffer indices;
+
+    private int vertexCount;
+    private int faceCount;
+    private int indexCount;
+
+    public DirectMesh(int vertexCount, int faceCount, int indexCount) {
+        this(ByteBuffer.allocateDirect(size(vertexCount, faceCount, indexCount)).order(ByteOrder.LITTLE_ENDIAN),
+                vertexCount, faceCount, indexCount);
+        this.buffer.putInt(0, vertexCount);
+        this.buffer.putInt(4, faceCount);
+        this.buffer.putInt(8, indexCount);
+        this.offsets.put(faceCount, indexCount);
+    }
+
+    public DirectMesh(Mesh mesh) {
+        this(vertexCount(mesh), mesh.getFaces().size(), mesh.getIndices().length);
+        List<Vector3D> vertices = mesh.getVertices();
+        for (int i = 0; i < this.vertexCount; i++) {
+            this.setVertex(i, vertices.get(i).getX(), vertices.get(i).getY(), vertices.get(i).getZ());
+        }
+        int[] offsets = mesh.getOffsets();
+        int[] indices = mesh.getIndices();
+        for (int i = 0; i <= this.faceCount; i++) {
+            this.offsets.put(i, offsets[i]);
+        }
+        for (int i = 0; i < this.indexCount; i++) {
+            this.indices.put(i, indices[i]);
+        }
+    }
+
+    private DirectMesh(ByteBuffer buffer, int vertexCount, int faceCount, int indexCount) {
+        this.buffer = buffer;
+        this.vertexCount = vertexCount;
+        this.faceCount = faceCount;
+        this.indexCount = indexCount;
+        int position = HEADER_SIZE;
+        this.positions = this.view(position, vertexCount * 12).asFloatBuffer();
+        position += vertexCount * 12;
+        this.offsets = this.view(position, (faceCount + 1) * 4).asIntBuffer();
+        position += (faceCount + 1) * 4;
+        this.indices = this.view(position, indexCount * 4).asIntBuffer();
+    }
+
+    public static DirectMesh map(String fileName, boolean writable) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(fileName, writable ? "rw" : "r");
+             FileChannel channel = file.getChannel()) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            int vertexCount = header.getInt(0);
+            int faceCount = header.getInt(4);
+            int indexCount = header.getInt(8);
+            ByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0,
+                    size(vertexCount, faceCount, indexCount)).order(ByteOrder.LITTLE_ENDIAN);
+            return new DirectMesh(buffer, vertexCount, faceCount, indexCount);
+        }
+    }
+
+    public void write(String fileName) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw");
+             FileChannel channel = file.getChannel()) {
+            ByteBuffer source = this.buffer.duplicate();
+            source.clear();
+            channel.truncate(0);
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    private static int vertexCount(Mesh mesh) {
+        mesh.updateIndices();
+        return mesh.getVertices().size();
+    }
+
+    private static int size(int vertexCount, int faceCount, int indexCount) {
+        if (vertexCount < 0 || faceCount < 0 || indexCount < 0) {
+            throw new IllegalArgumentException("counts must not be negative");
+        }
+        long size = HEADER_SIZE + vertexCount * 12L + (faceCount + 1) * 4L + indexCount * 4L;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("mesh of " + size + " bytes does not fit in one buffer");
+        }
+        return (int) size;
+    }
+
+    private ByteBuffer view(int position, int length) {
+        ByteBuffer view = this.buffer.duplicate();
+        view.position(position);
+        view.limit(position + length);
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getFaceCount() {
+        return faceCount;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    public FloatBuffer getPositions() {
+        return positions;
+    }
+
+    public IntBuffer getOffsets() {
+        return offsets;
+    }
+
+    public IntBuffer getIndices() {
+        return indices;
+    }
+
+    public float getX(int vertex) {
+        return this.positions.get(vertex * 3);
+    }
+
+    public float getY(int vertex) {
+        return this.positions.get(vertex * 3 + 1);
+    }
+
+    public float getZ(int vertex) {
+        return this.positions.get(vertex * 3 + 2);
+    }
+
+    public void getVertex(int vertex, Vector3D v) {
+        v.setX(this.getX(vertex));
+        v.setY(this.getY(vertex));
+        v.setZ(this.getZ(vertex));
+    }
+
+    public void setVertex(int vertex, float x, float y, float z) {
+        this.positions.put(vertex * 3, x);
+        this.positions.put(vertex * 3 + 1, y);
+        this.positions.put(vertex * 3 + 2, z);
+    }
+
+    public int getFaceSize(int face) {
+        return this.offsets.get(face + 1) - this.offsets.get(face);
+    }
+
+    public int getIndex(int face, int corner) {
+        return this.indices.get(this.offsets.get(face) + corner);
+    }
+
+    public void setFace(int face, int... vertices) {
+        int first = this.offsets.get(face);
+        this.offsets.put(face + 1, first + vertices.length);
+        for (int i = 0; i < vertices.length; i++) {
+            this.indices.put(first + i, vertices[i]);
+        }
+    }
+
+    public void getFace(int face, Polygon3D poly) {
+        int size = this.getFaceSize(face);
+        if (poly.vertexCount() != size) {
+            throw new IllegalArgumentException("polygon must have " + size + " vertices");
+        }
+        for (int i = 0; i < size; i++) {
+            this.getVertex(this.getIndex(face, i), poly.get(i));
+        }
+    }
+
+    public void transform(Matrix4D matrix) {
+        this.transform(matrix, this.positions, 0, this.vertexCount);
+    }
+
+    public void transform(Matrix4D matrix, FloatBuffer result, int first, int count) {
+        float m00 = matrix.get(0), m01 = matrix.get(1), m02 = matrix.get(2);
+        float m10 = matrix.get(4), m11 = matrix.get(5), m12 = matrix.get(6);
+        float m20 = matrix.get(8), m21 = matrix.get(9), m22 = matrix.get(10);
+        float m30 = matrix.get(12), m31 = matrix.get(13), m32 = matrix.get(14);
+        for (int i = first * 3; i < (first + count) * 3; i += 3) {
+            float x = this.positions.get(i);
+            float y = this.positions.get(i + 1);
+            float z = this.positions.get(i + 2);
+            result.put(i, x * m00 + y * m10 + z * m20 + m30);
+            result.put(i + 1, x * m01 + y * m11 + z * m21 + m31);
+            result.put(i + 2, x * m02 + y * m12 + z * m22 + m32);
+        }
+    }
+
+    public void transform(Matrix4D matrix, float[] result, int first, int count) {
+        float m00 = matrix.get(0), m01 = matrix.get(1), m02 = matrix.get(2);
+        float m10 = matrix.get(4), m11 = matrix.get(5), m12 = matrix.get(6);
+        float m20 = matrix.get(8), m21 = matrix.get(9), m22 = matrix.get(10);
+        float m30 = matrix.get(12), m31 = matrix.get(13), m32 = matrix.get(14);
+        for (int i = 0; i < count; i++) {
+            int s = (first + i) * 3;
+            float x = this.positions.get(s);
+            float y = this.positions.get(s + 1);
+            float z = this.positions.get(s + 2);
+            result[i * 3] = x * m00 + y * m10 + z * m20 + m30;
+            result[i * 3 + 1] = x * m01 + y * m11 + z * m21 + m31;
+            result[i * 3 + 2] = x * m02 + y * m12 + z * m22 + m32;
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.arman.models;
+
+import java.util.Arrays;
+
+public class HalfEdgeMesh {
+
+    public static final int NONE = -1;
+
+    private static final int DUPLICATE = -2;
+
+    private int vertexCount;
+    private int faceCount;
+    private int halfEdgeCount;
+
+    private int[] origins;
+    private int[] nexts;
+    private int[] previouses;
+    private int[] twins;
+    private int[] faces;
+    private int[] faceEdges;
+    private int[] vertexEdges;
+
+    public HalfEdgeMesh(Mesh mesh) {
+        this(mesh.getIndices(), mesh.getOffsets(), mesh.getVertices().size());
+    }
+
+    public HalfEdgeMesh(int[] indices, int[] offsets, int vertexCount) {
+        this.vertexCount = vertexCount;
+        this.faceCount = offsets.length - 1;
+        this.halfEdgeCount = offsets[this.faceCount];
+        this.origins = new int[this.halfEdgeCount];
+        this.nexts = new int[this.halfEdgeCount];
+        this.previouses = new int[this.halfEdgeCount];
+        this.twins = new int[this.halfEdgeCount];
+        this.faces = new int[this.halfEdgeCount];
+        this.faceEdges = new int[this.faceCount];
+        this.vertexEdges = new int[vertexCount];
+        Arrays.fill(this.vertexEdges, NONE);
+        for (int f = 0; f < this.faceCount; f++) {
+            int first = offsets[f];
+            int last = offsets[f + 1];
+            this.faceEdges[f] = last > first ? first : NONE;
+            for (int h = first; h < last; h++) {
+                this.origins[h] = indices[h];
+                this.nexts[h] = h + 1 < last ? h + 1 : first;
+                this.previouses[h] = h > first ? h - 1 : last - 1;
+                this.faces[h] = f;
+                if (this.vertexEdges[indices[h]] == NONE) {
+                    this.vertexEdges[indices[h]] = h;
+                }
+            }
+        }
+        this.link();
+    }
+
+    private void link() {
+        int capacity = Integer.highestOneBit(Math.max(1, this.halfEdgeCount) * 2) * 2;
+        int mask = capacity - 1;
+        long[] keys = new long[capacity];
+        int[] values = new int[capacity];
+        Arrays.fill(values, NONE);
+        for (int h = 0; h < this.halfEdgeCount; h++) {
+            long key = key(this.origins[h], this.origins[this.nexts[h]]);
+            int slot = hash(key) & mask;
+            while (values[slot] != NONE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = values[slot] == NONE ? h : DUPLICATE;
+        }
+        for (int h = 0; h < this.halfEdgeCount; h++) {
+            long key = key(this.origins[this.nexts[h]], this.origins[h]);
+            int slot = hash(key) & mask;
+            int twin = NONE;
+            while (values[slot] != NONE) {
+                if (keys[slot] == key) {
+                    twin = values[slot] == DUPLICATE || values[slot] == h ? NONE : values[slot];
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            this.twins[h] = twin;
+        }
+        for (int h = 0; h < this.halfEdgeCount; h++) {
+            int twin = this.twins[h];
+            if (twin != NONE && this.twins[twin] != h) {
+                this.twins[h] = NONE;
+            }
+        }
+        for (int h = 0; h < this.halfEdgeCount; h++) {
+            if (this.twins[h] == NONE) {
+                this.vertexEdges[this.origins[h]] = h;
+            }
+        }
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xffffffffL);
+    }
+
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getFaceCount() {
+        return faceCount;
+    }
+
+    public int getHalfEdgeCount() {
+        return halfEdgeCount;
+    }
+
+    public int getOrigin(int halfEdge) {
+        return this.origins[halfEdge];
+    }
+
+    public int getDestination(int halfEdge) {
+        return this.origins[this.nexts[halfEdge]];
+    }
+
+    public int getNext(int halfEdge) {
+        return this.nexts[halfEdge];
+    }
+
+    public int getPrevious(int halfEdge) {
+        return this.previouses[halfEdge];
+    }
+
+    public int getTwin(int halfEdge) {
+        return this.twins[halfEdge];
+    }
+
+    public int getFace(int halfEdge) {
+        return this.faces[halfEdge];
+    }
+
+    public int getEdge(int face) {
+        return this.faceEdges[face];
+    }
+
+    public int getOutgoing(int vertex) {
+        return this.vertexEdges[vertex];
+    }
+
+    public boolean isBoundary(int halfEdge) {
+        return this.twins[halfEdge] == NONE;
+    }
+
+    public int getEdges(int[] result) {
+        int count = 0;
+        for (int h = 0; h < this.halfEdgeCount; h++) {
+            int twin = this.twins[h];
+            if (twin == NONE || h < twin) {
+                result[count++] = h;
+            }
+        }
+        return count;
+    }
+
+    public int getNeighbours(int face, int[] result) {
+        int count = 0;
+        int first = this.faceEdges[face];
+        if (first == NONE) {
+            return 0;
+        }
+        int h = first;
+        do {
+            if (this.twins[h] != NONE) {
+                result[count++] = this.faces[this.twins[h]];
+            }
+            h = this.nexts[h];
+        } while (h != first);
+        return count;
+    }
+
+    public int getRing(int vertex, int[] result) {
+        int count = 0;
+        int first = this.vertexEdges[vertex];
+        if (first == NONE) {
+            return 0;
+        }
+        int h = first;
+        int steps = 0;
+        do {
+            result[count++] = this.getDestination(h);
+            int twin = this.twins[this.previouses[h]];
+            if (twin == NONE) {
+                if (count < result.length) {
+                    result[count++] = this.origins[this.previouses[h]];
+                }
+                break;
+            }
+            h = twin;
+        } while (h != first && count < result.length && ++steps < this.halfEdgeCount);
+        return count;
+    }
+
+    public int getSilhouette(boolean[] facing, int[] result) {
+        int count = 0;
+        for (int h = 0; h < this.halfEdgeCount; h++) {
+            if (!facing[this.faces[h]]) {
+                continue;
+            }
+            int twin = this.twins[h];
+            if (twin == NONE || !facing[this.faces[twin]]) {
+                result[count++] = h;
+            }
+        }
+        return count;
+    }
+
+}
@@ -3,7 +3,9 @@ package com.arman.models;
 import com.arman.geom.*;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Mesh {
 
@@ -14,6 +16,22 @@ public class Mesh {
     private List<Line3D> edges;
     private List<Polygon3D> faces;
 
+    private float[] planes;
+    private boolean dirty;
+    private int version;
+
+    private BoundingBox3D boundingBox;
+    private BoundingSphere3D boundingSphere;
+    private boolean boundsDirty;
+
+    private int[] indices;
+    private int[] offsets;
+    private HalfEdgeMesh halfEdges;
+    private boolean indicesDirty;
+
+    private float[] normals;
+    private boolean normalsDirty;
+
     public Mesh() {
         this("unnamed");
     }
@@ -27,6 +45,13 @@ public class Mesh {
         this.vertices = vertices;
         this.edges = edges;
         this.faces = faces;
+        this.planes = new float[0];
+        this.dirty = true;
+        this.boundingBox = new BoundingBox3D();
+        this.boundingSphere = new BoundingSphere3D();
+        this.boundsDirty = !faces.isEmpty();
+        this.indicesDirty = true;
+        this.normalsDirty = true;
     }
 
     public Mesh(String name, List<Polygon3D> faces) {
@@ -47,6 +72,14 @@ public class Mesh {
 
     public void addFace(Polygon3D poly) {
         this.faces.add(poly);
+        this.dirty = true;
+        this.version++;
+        this.indicesDirty = true;
+        this.normalsDirty = true;
+        if (!this.boundsDirty) {
+            this.boundingBox.add(poly);
+            this.boundingSphere.add(poly);
+        }
     }
 
     public void addEdge(Line3D l) {
@@ -55,78 +88,272 @@ public class Mesh {
 
     public void addVertex(Vector3D v) {
         this.vertices.add(v);
+        this.indicesDirty = true;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+        this.boundsDirty = dirty;
+        if (dirty) {
+            this.version++;
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isDirty() {
+        return this.dirty || this.boundsDirty;
+    }
+
+    public void update() {
+        this.updatePlanes();
+        this.updateBounds();
+    }
+
+    public void updateBounds() {
+        this.boundingBox.clear();
+        for (int i = 0; i < this.faces.size(); i++) {
+            this.boundingBox.add(this.faces.get(i));
+        }
+        this.boundingSphere.set(this.boundingBox);
+        for (int i = 0; i < this.faces.size(); i++) {
+            Polygon3D poly = this.faces.get(i);
+            for (int j = 0; j < poly.vertexCount(); j++) {
+                this.boundingSphere.extend(poly.get(j));
+            }
+        }
+        this.boundsDirty = false;
+    }
+
+    public BoundingBox3D getBoundingBox() {
+        if (this.boundsDirty) {
+            this.updateBounds();
+        }
+        return this.boundingBox;
+    }
+
+    public BoundingSphere3D getBoundingSphere() {
+        if (this.boundsDirty) {
+            this.updateBounds();
+        }
+        return this.boundingSphere;
+    }
+
+    public void updateIndices() {
+        Map<Vector3D, Integer> lookup = new IdentityHashMap<>();
+        for (int i = 0; i < this.vertices.size(); i++) {
+            if (!lookup.containsKey(this.vertices.get(i))) {
+                lookup.put(this.vertices.get(i), i);
+            }
+        }
+        this.offsets = new int[this.faces.size() + 1];
+        for (int i = 0; i < this.faces.size(); i++) {
+            this.offsets[i + 1] = this.offsets[i] + this.faces.get(i).vertexCount();
+        }
+        this.indices = new int[this.offsets[this.faces.size()]];
+        for (int i = 0; i < this.faces.size(); i++) {
+            Polygon3D poly = this.faces.get(i);
+            for (int j = 0; j < poly.vertexCount(); j++) {
+                Vector3D v = poly.get(j);
+                Integer index = lookup.get(v);
+                if (index == null) {
+                    index = this.vertices.size();
+                    this.vertices.add(v);
+                    lookup.put(v, index);
+                }
+                this.indices[this.offsets[i] + j] = index;
+            }
+        }
+        this.halfEdges = null;
+        this.indicesDirty = false;
+    }
+
+    public int[] getIndices() {
+        if (this.indicesDirty) {
+            this.updateIndices();
+        }
+        return this.indices;
+    }
+
+    public int[] getOffsets() {
+        if (this.indicesDirty) {
+            this.updateIndices();
+        }
+        return this.offsets;
+    }
+
+    public HalfEdgeMesh getHalfEdges() {
+        if (this.indicesDirty || this.halfEdges == null) {
+            this.halfEdges = new HalfEdgeMesh(this);
+        }
+        return this.halfEdges;
+    }
+
+    public void updateNormals(NormalGenerator generator) {
+        this.normals = generator.generate(this);
+        this.normalsDirty = false;
+    }
+
+    public float[] getNormals() {
+        if (this.normalsDirty || this.normals == null) {
+            this.updateNormals(new NormalGenerator());
+        }
+        return this.normals;
+    }
+
+    public void setNormals(float[] normals) {
+        this.normals = normals;
+        this.normalsDirty = false;
+    }
+
+    public void updatePlanes() {
+        int count = this.faces.size();
+        if (this.planes.length != count * 4) {
+            this.planes = new float[count * 4];
+        }
+        for (int i = 0; i < count; i++) {
+            Polygon3D poly = this.faces.get(i);
+            int offset = i * 4;
+            if (poly.vertexCount() < 3) {
+                this.planes[offset] = 0;
+                this.planes[offset + 1] = 0;
+                this.planes[offset + 2] = 0;
+                this.planes[offset + 3] = 0;
+                continue;
+            }
+            Vector3D v0 = poly.get(0);
+            Vector3D v1 = poly.get(1);
+            Vector3D v2 = poly.get(2);
+            float ux = v2.getX() - v1.getX();
+            float uy = v2.getY() - v1.getY();
+            float uz = v2.getZ() - v1.getZ();
+            float vx = v0.getX() - v1.getX();
+            float vy = v0.getY() - v1.getY();
+            float vz = v0.getZ() - v1.getZ();
+            float nx = uy * vz - uz * vy;
+            float ny = uz * vx - ux * vz;
+            float nz = ux * vy - uy * vx;
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            if (length > 0) {
+                nx /= length;
+                ny /= length;
+                nz /= length;
+            }
+            this.planes[offset] = nx;
+            this.planes[offset + 1] = ny;
+            this.planes[offset + 2] = nz;
+            this.planes[offset + 3] = nx * v0.getX() + ny * v0.getY() + nz * v0.getZ();
+        }
+        this.dirty = false;
+    }
+
+    public float[] getPlanes() {
+        if (this.dirty) {
+            this.updatePlanes();
+        }
+        return this.planes;
+    }
+
+    public float distance(int face, Vector3D v) {
+        float[] planes = this.getPlanes();
+        int offset = face * 4;
+        return planes[offset] * v.getX() + planes[offset + 1] * v.getY() + planes[offset + 2] * v.getZ() - planes[offset + 3];
+    }
+
+    public boolean isFacing(int face, Vector3D v) {
+        float[] planes = this.getPlanes();
+        int offset = face * 4;
+        Polygon3D poly = this.faces.get(face);
+        if (poly.vertexCount() == 0) {
+            return true;
+        }
+        Vector3D v0 = poly.get(0);
+        return Polygon3D.isFacing(planes[offset], planes[offset + 1], planes[offset + 2],
+                v.getX() - v0.getX(), v.getY() - v0.getY(), v.getZ() - v0.getZ());
     }
 
     public void add(Vector3D v) {
+        this.getIndices();
         for (int i = 0; i < this.vertices.size(); i++) {
             this.vertices.get(i).add(v);
         }
         for (int i = 0; i < this.edges.size(); i++) {
             this.edges.get(i).add(v);
         }
-        for (int i = 0; i < this.faces.size(); i++) {
-            this.faces.get(i).add(v);
-        }
+        this.dirty = true;
+        this.version++;
+        this.boundsDirty = true;
     }
 
     public void subtract(Vector3D v) {
+        this.getIndices();
         for (int i = 0; i < this.vertices.size(); i++) {
             this.vertices.get(i).subtract(v);
         }
         for (int i = 0; i < this.edges.size(); i++) {
             this.edges.get(i).subtract(v);
         }
-        for (int i = 0; i < this.faces.size(); i++) {
-            this.faces.get(i).subtract(v);
-        }
+        this.dirty = true;
+        this.version++;
+        this.boundsDirty = true;
     }
 
     public void add(Rotation3D rotation) {
+        this.getIndices();
         for (int i = 0; i < this.vertices.size(); i++) {
             this.vertices.get(i).add(rotation);
         }
         for (int i = 0; i < this.edges.size(); i++) {
             this.edges.get(i).add(rotation);
         }
-        for (int i = 0; i < this.faces.size(); i++) {
-            this.faces.get(i).add(rotation);
-        }
+        this.dirty = true;
+        this.version++;
+        this.boundsDirty = true;
+        this.normalsDirty = true;
     }
 
     public void subtract(Rotation3D rotation) {
+        this.getIndices();
         for (int i = 0; i < this.vertices.size(); i++) {
             this.vertices.get(i).subtract(rotation);
         }
         for (int i = 0; i < this.edges.size(); i++) {
             this.edges.get(i).subtract(rotation);
         }
-        for (int i = 0; i < this.faces.size(); i++) {
-            this.faces.get(i).subtract(rotation);
-        }
+        this.dirty = true;
+        this.version++;
+        this.boundsDirty = true;
+        this.normalsDirty = true;
     }
 
     public void add(Transform3D transform) {
+        this.getIndices();
         for (int i = 0; i < this.vertices.size(); i++) {
             this.vertices.get(i).add(transform);
         }
         for (int i = 0; i < this.edges.size(); i++) {
             this.edges.get(i).add(transform);
         }
-        for (int i = 0; i < this.faces.size(); i++) {
-            this.faces.get(i).add(transform);
-        }
+        this.dirty = true;
+        this.version++;
+        this.boundsDirty = true;
+        this.normalsDirty = true;
     }
 
     public void subtract(Transform3D transform) {
+        this.getIndices();
         for (int i = 0; i < this.vertices.size(); i++) {
             this.vertices.get(i).subtract(transform);
         }
         for (int i = 0; i < this.edges.size(); i++) {
             this.edges.get(i).subtract(transform);
         }
-        for (int i = 0; i < this.faces.size(); i++) {
-            this.faces.get(i).subtract(transform);
-        }
+        this.dirty = true;
+        this.version++;
+        this.boundsDirty = true;
+        this.normalsDirty = true;
     }
 
     public void setFilename(String fileName) {
@@ -1,11 +1,84 @@
 package com.arman.models;
 
+import com.arman.geom.BoundingBox3D;
+import com.arman.geom.BoundingSphere3D;
+import com.arman.geom.Matrix4D;
+import com.arman.geom.Ray3D;
+import com.arman.geom.RayHit;
+import com.arman.geom.Transform3D;
+import com.arman.trees.BoundingVolumeHierarchy;
+
 public class Model {
 
     private Mesh mesh;
+    private Transform3D transform;
+
+    private Matrix4D matrix;
+    private BoundingBox3D boundingBox;
+    private BoundingSphere3D boundingSphere;
+    private BoundingVolumeHierarchy hierarchy;
+    private int hierarchyVersion;
+    private Ray3D ray;
 
     public Model() {
-        this.mesh = new Mesh();
+        this(new Mesh());
+    }
+
+    public Model(Mesh mesh) {
+        this(mesh, new Transform3D());
+    }
+
+    public Model(Mesh mesh, Transform3D transform) {
+        this.mesh = mesh;
+        this.transform = transform;
+        this.matrix = new Matrix4D();
+        this.boundingBox = new BoundingBox3D();
+        this.boundingSphere = new BoundingSphere3D();
+        this.ray = new Ray3D();
+    }
+
+    public Mesh getMesh() {
+        return this.mesh;
+    }
+
+    public Transform3D getTransform() {
+        return this.transform;
+    }
+
+    public void setTransform(Transform3D transform) {
+        this.transform = transform;
+    }
+
+    public BoundingBox3D getBoundingBox() {
+        this.transform.toMatrix(this.matrix);
+        this.boundingBox.transform(this.mesh.getBoundingBox(), this.matrix);
+        return this.boundingBox;
+    }
+
+    public BoundingSphere3D getBoundingSphere() {
+        this.transform.toMatrix(this.matrix);
+        this.boundingSphere.transform(this.mesh.getBoundingSphere(), this.matrix);
+        return this.boundingSphere;
+    }
+
+    public BoundingVolumeHierarchy getHierarchy() {
+        if (this.hierarchy == null || this.hierarchy.getPrimitiveCount() != this.mesh.getFaces().size()) {
+            this.hierarchy = new BoundingVolumeHierarchy(this.mesh);
+        } else if (this.hierarchyVersion != this.mesh.getVersion()) {
+            this.hierarchy.refit();
+        }
+        this.hierarchyVersion = this.mesh.getVersion();
+        return this.hierarchy;
+    }
+
+    public boolean raycast(Ray3D ray, RayHit hit) {
+        this.ray.set(ray);
+        this.ray.subtract(this.transform);
+        if (this.getHierarchy().raycast(this.ray, hit)) {
+            hit.setObject(this);
+            return true;
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,125 @@
+package com.arman.models;
+
+import com.arman.geom.Vector3D;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class NormalGenerator {
+
+    public static final float DEFAULT_CREASE_ANGLE = (float) Math.toRadians(60);
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    private float creaseAngle;
+    private float creaseCos;
+
+    public NormalGenerator() {
+        this(DEFAULT_CREASE_ANGLE);
+    }
+
+    public NormalGenerator(float creaseAngle) {
+        this.setCreaseAngle(creaseAngle);
+    }
+
+    public float getCreaseAngle() {
+        return creaseAngle;
+    }
+
+    public void setCreaseAngle(float creaseAngle) {
+        this.creaseAngle = creaseAngle;
+        this.creaseCos = creaseAngle >= Math.PI ? -2 : (float) Math.cos(creaseAngle);
+    }
+
+    public float[] generate(Mesh mesh) {
+        int[] indices = mesh.getIndices();
+        int[] offsets = mesh.getOffsets();
+        List<Vector3D> vertices = mesh.getVertices();
+        float[] positions = new float[vertices.size() * 3];
+        for (int i = 0; i < vertices.size(); i++) {
+            Vector3D v = vertices.get(i);
+            positions[i * 3] = v.getX();
+            positions[i * 3 + 1] = v.getY();
+            positions[i * 3 + 2] = v.getZ();
+        }
+        return this.generate(positions, indices, offsets, new float[indices.length * 3]);
+    }
+
+    public float[] generate(float[] positions, int[] indices, int[] offsets, float[] normals) {
+        int faceCount = offsets.length - 1;
+        int vertexCount = positions.length / 3;
+        float[] faceNormals = new float[faceCount * 3];
+        float[] faceLengths = new float[faceCount];
+        int[] cornerFaces = new int[indices.length];
+        range(faceCount).forEach(f -> {
+            float nx = 0;
+            float ny = 0;
+            float nz = 0;
+            int first = offsets[f];
+            int last = offsets[f + 1];
+            for (int c = first; c < last; c++) {
+                int a = indices[c] * 3;
+                int b = indices[c + 1 < last ? c + 1 : first] * 3;
+                nx += (positions[a + 1] - positions[b + 1]) * (positions[a + 2] + positions[b + 2]);
+                ny += (positions[a + 2] - positions[b + 2]) * (positions[a] + positions[b]);
+                nz += (positions[a] - positions[b]) * (positions[a + 1] + positions[b + 1]);
+                cornerFaces[c] = f;
+            }
+            faceNormals[f * 3] = nx;
+            faceNormals[f * 3 + 1] = ny;
+            faceNormals[f * 3 + 2] = nz;
+            faceLengths[f] = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+        });
+        int[] starts = new int[vertexCount + 1];
+        for (int c = 0; c < indices.length; c++) {
+            starts[indices[c] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            starts[v + 1] += starts[v];
+        }
+        int[] corners = new int[indices.length];
+        int[] cursors = new int[vertexCount];
+        for (int c = 0; c < indices.length; c++) {
+            int v = indices[c];
+            corners[starts[v] + cursors[v]++] = c;
+        }
+        float creaseCos = this.creaseCos;
+        range(vertexCount).forEach(v -> {
+            int first = starts[v];
+            int last = starts[v + 1];
+            for (int i = first; i < last; i++) {
+                int c = corners[i];
+                int f = cornerFaces[c];
+                float nx = 0;
+                float ny = 0;
+                float nz = 0;
+                for (int j = first; j < last; j++) {
+                    int g = cornerFaces[corners[j]];
+                    if (g != f && creaseCos > -1) {
+                        float dot = faceNormals[f * 3] * faceNormals[g * 3] + faceNormals[f * 3 + 1] * faceNormals[g * 3 + 1]
+                                + faceNormals[f * 3 + 2] * faceNormals[g * 3 + 2];
+                        if (dot < creaseCos * faceLengths[f] * faceLengths[g]) {
+                            continue;
+                        }
+                    }
+                    nx += faceNormals[g * 3];
+                    ny += faceNormals[g * 3 + 1];
+                    nz += faceNormals[g * 3 + 2];
+                }
+                float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (length > 0) {
+                    length = 1 / length;
+                }
+                normals[c * 3] = nx * length;
+                normals[c * 3 + 1] = ny * length;
+                normals[c * 3 + 2] = nz * length;
+            }
+        });
+        return normals;
+    }
+
+    private static IntStream range(int count) {
+        IntStream stream = IntStream.range(0, count);
+        return count >= PARALLEL_THRESHOLD ? stream.parallel() : stream;
+    }
+
+}
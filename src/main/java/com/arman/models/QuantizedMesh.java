@@ -0,0 +1,162 @@
+package com.arman.models;
+
+import com.arman.geom.BoundingBox3D;
+import com.arman.geom.Matrix4D;
+import com.arman.geom.Vector3D;
+
+import java.util.List;
+
+public class QuantizedMesh {
+
+    public static final int LEVELS = 65535;
+
+    private short[] positions;
+    private int vertexCount;
+    private int[] indices;
+    private int[] offsets;
+    private CompressedIndexBuffer compressedIndices;
+
+    private float minX, minY, minZ;
+    private float stepX, stepY, stepZ;
+    private BoundingBox3D boundingBox;
+
+    public QuantizedMesh(Mesh mesh) {
+        this.indices = mesh.getIndices();
+        this.offsets = mesh.getOffsets();
+        List<Vector3D> vertices = mesh.getVertices();
+        BoundingBox3D box = new BoundingBox3D();
+        for (int i = 0; i < vertices.size(); i++) {
+            box.add(vertices.get(i));
+        }
+        this.boundingBox = box;
+        this.vertexCount = vertices.size();
+        this.positions = new short[this.vertexCount * 3];
+        if (box.isEmpty()) {
+            return;
+        }
+        this.minX = box.getMinX();
+        this.minY = box.getMinY();
+        this.minZ = box.getMinZ();
+        this.stepX = box.getWidth() / LEVELS;
+        this.stepY = box.getHeight() / LEVELS;
+        this.stepZ = box.getDepth() / LEVELS;
+        for (int i = 0; i < this.vertexCount; i++) {
+            Vector3D v = vertices.get(i);
+            this.positions[i * 3] = quantize(v.getX(), this.minX, this.stepX);
+            this.positions[i * 3 + 1] = quantize(v.getY(), this.minY, this.stepY);
+            this.positions[i * 3 + 2] = quantize(v.getZ(), this.minZ, this.stepZ);
+        }
+    }
+
+    private static short quantize(float value, float min, float step) {
+        if (step == 0) {
+            return 0;
+        }
+        int q = Math.round((value - min) / step);
+        return (short) Math.max(0, Math.min(LEVELS, q));
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public short[] getPositions() {
+        return positions;
+    }
+
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public void compressIndices() {
+        this.compressIndices(CompressedIndexBuffer.DEFAULT_BLOCK_SIZE);
+    }
+
+    public void compressIndices(int blockSize) {
+        if (this.indices != null) {
+            this.compressedIndices = new CompressedIndexBuffer(this.indices, this.indices.length, blockSize);
+            this.indices = null;
+        }
+    }
+
+    public CompressedIndexBuffer getCompressedIndices() {
+        return compressedIndices;
+    }
+
+    public BoundingBox3D getBoundingBox() {
+        return boundingBox;
+    }
+
+    public int getX(int vertex) {
+        return this.positions[vertex * 3] & 0xffff;
+    }
+
+    public int getY(int vertex) {
+        return this.positions[vertex * 3 + 1] & 0xffff;
+    }
+
+    public int getZ(int vertex) {
+        return this.positions[vertex * 3 + 2] & 0xffff;
+    }
+
+    public void getVertex(int vertex, Vector3D v) {
+        v.setX(this.minX + this.getX(vertex) * this.stepX);
+        v.setY(this.minY + this.getY(vertex) * this.stepY);
+        v.setZ(this.minZ + this.getZ(vertex) * this.stepZ);
+    }
+
+    public float getErrorX() {
+        return this.stepX * 0.5f;
+    }
+
+    public float getErrorY() {
+        return this.stepY * 0.5f;
+    }
+
+    public float getErrorZ() {
+        return this.stepZ * 0.5f;
+    }
+
+    public float getError() {
+        float x = this.getErrorX();
+        float y = this.getErrorY();
+        float z = this.getErrorZ();
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    public void getDequantization(Matrix4D matrix) {
+        matrix.setIdentity();
+        matrix.set(0, this.stepX);
+        matrix.set(5, this.stepY);
+        matrix.set(10, this.stepZ);
+        matrix.set(12, this.minX);
+        matrix.set(13, this.minY);
+        matrix.set(14, this.minZ);
+    }
+
+    public void getMatrix(Matrix4D model, Matrix4D result) {
+        this.getDequantization(result);
+        result.multiply(result, model);
+    }
+
+    public float[] transform(Matrix4D matrix, float[] result) {
+        float m00 = matrix.get(0), m01 = matrix.get(1), m02 = matrix.get(2);
+        float m10 = matrix.get(4), m11 = matrix.get(5), m12 = matrix.get(6);
+        float m20 = matrix.get(8), m21 = matrix.get(9), m22 = matrix.get(10);
+        float m30 = matrix.get(12), m31 = matrix.get(13), m32 = matrix.get(14);
+        for (int i = 0; i < this.vertexCount * 3; i += 3) {
+            float x = this.positions[i] & 0xffff;
+            float y = this.positions[i + 1] & 0xffff;
+            float z = this.positions[i + 2] & 0xffff;
+            result[i] = x * m00 + y * m10 + z * m20 + m30;
+            result[i + 1] = x * m01 + y * m11 + z * m21 + m31;
+            result[i + 2] = x * m02 + y * m12 + z * m22 + m32;
+        }
+        return result;
+    }
+
+}
@@ -56,4 +56,8 @@ public class Vertex extends Vector3D {
         this.color = color;
     }
 
+    public Color getColor() {
+        return color;
+    }
+
 }
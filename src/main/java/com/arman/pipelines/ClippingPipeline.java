@@ -1,10 +1,174 @@
 package com.arman.pipelines;
 
+import com.arman.clippers.FrustumClipper;
+import com.arman.geom.Polygon3D;
+import com.arman.geom.ScratchPolygons;
+import com.arman.geom.Vector3D;
+import com.arman.main.View;
+
 public class ClippingPipeline implements Pipeline {
 
+    public static final float DEFAULT_NEAR = 1;
+    public static final float DEFAULT_FAR = 10000;
+    public static final float DEFAULT_GUARD_BAND = 4;
+
+    private FrustumClipper clipper;
+    private int stride;
+
+    private float centerX, centerY;
+    private float halfWidth, halfHeight;
+    private float distance;
+    private float near, far;
+    private float guardBand;
+
+    private float[] input;
+    private int inputCount;
+    private float[] output;
+    private int outputCount;
+    private ScratchPolygons screenPolygons;
+
+    public ClippingPipeline() {
+        this(FrustumClipper.POSITION_SIZE);
+    }
+
+    public ClippingPipeline(int stride) {
+        this.clipper = new FrustumClipper(16, stride);
+        this.stride = stride;
+        this.input = new float[16 * stride];
+        this.output = new float[16 * stride];
+        this.screenPolygons = new ScratchPolygons();
+        this.near = DEFAULT_NEAR;
+        this.far = DEFAULT_FAR;
+        this.guardBand = DEFAULT_GUARD_BAND;
+    }
+
+    public ClippingPipeline(View view) {
+        this(view, FrustumClipper.POSITION_SIZE);
+    }
+
+    public ClippingPipeline(View view, int stride) {
+        this(stride);
+        this.setViewport(view);
+    }
+
+    public void setViewport(View view) {
+        this.setViewport(view.getLeft(), view.getTop(), view.getWidth(), view.getHeight(), view.getDistanceToCamera());
+    }
+
+    public void setViewport(float left, float top, float width, float height, float distance) {
+        this.halfWidth = width / 2;
+        this.halfHeight = height / 2;
+        this.centerX = left + this.halfWidth;
+        this.centerY = top + this.halfHeight;
+        this.distance = distance;
+    }
+
+    public void setDepthRange(float near, float far) {
+        this.near = near;
+        this.far = far;
+    }
+
+    public void setGuardBand(float guardBand) {
+        this.guardBand = guardBand;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    public void setInput(float[] vertices, int count) {
+        this.input = vertices;
+        this.inputCount = count;
+    }
+
+    public float[] getOutput() {
+        return output;
+    }
+
+    public int getOutputCount() {
+        return outputCount;
+    }
+
     @Override
     public void execute() {
+        this.outputCount = this.clip(this.input, this.inputCount);
+    }
+
+    public void toClip(float x, float y, float z, float[] vertices, int offset) {
+        vertices[offset] = this.distance * x / this.halfWidth;
+        vertices[offset + 1] = this.distance * y / this.halfHeight;
+        vertices[offset + 2] = (z * (this.far + this.near) - 2 * this.far * this.near) / (this.far - this.near);
+        vertices[offset + 3] = z;
+    }
+
+    public int clip(float[] vertices, int count) {
+        int andCode = ~0;
+        int orCode = 0;
+        for (int i = 0, offset = 0; i < count; i++, offset += this.stride) {
+            float x = vertices[offset];
+            float y = vertices[offset + 1];
+            float w = vertices[offset + 3];
+            int code = FrustumClipper.outcode(x, y, vertices[offset + 2], w);
+            andCode &= code;
+            if (code != FrustumClipper.INSIDE && !this.isInGuardBand(x, y, w, code)) {
+                orCode |= code;
+            }
+        }
+        if (count < 3 || andCode != 0) {
+            return 0;
+        }
+        float[] source = vertices;
+        if (orCode != 0) {
+            count = this.clipper.clip(vertices, count);
+            if (count == 0) {
+                return 0;
+            }
+            source = this.clipper.getVertices();
+        }
+        if (this.output.length < count * this.stride) {
+            this.output = new float[count * this.stride];
+        }
+        for (int i = 0, offset = 0; i < count; i++, offset += this.stride) {
+            float w = source[offset + 3];
+            float inverse = 1 / w;
+            this.output[offset] = this.centerX + source[offset] * inverse * this.halfWidth;
+            this.output[offset + 1] = this.centerY - source[offset + 1] * inverse * this.halfHeight;
+            this.output[offset + 2] = w;
+            this.output[offset + 3] = inverse;
+            for (int j = FrustumClipper.POSITION_SIZE; j < this.stride; j++) {
+                this.output[offset + j] = source[offset + j] * inverse;
+            }
+        }
+        return count;
+    }
+
+    public Polygon3D clip(Polygon3D viewPoly) {
+        int count = viewPoly.vertexCount();
+        if (this.input.length < count * this.stride) {
+            this.input = new float[count * this.stride];
+        }
+        for (int i = 0; i < count; i++) {
+            Vector3D v = viewPoly.get(i);
+            this.toClip(v.getX(), v.getY(), v.getZ(), this.input, i * this.stride);
+        }
+        this.inputCount = count;
+        this.execute();
+        if (this.outputCount < 3) {
+            return null;
+        }
+        Polygon3D screenPoly = this.screenPolygons.get(this.outputCount);
+        for (int i = 0; i < this.outputCount; i++) {
+            Vector3D v = screenPoly.get(i);
+            v.setX(this.output[i * this.stride]);
+            v.setY(this.output[i * this.stride + 1]);
+            v.setZ(this.output[i * this.stride + 2]);
+        }
+        return screenPoly;
+    }
 
+    private boolean isInGuardBand(float x, float y, float w, int code) {
+        float band = this.guardBand * w;
+        return (code & (FrustumClipper.NEAR | FrustumClipper.FAR)) == 0 && x >= -band && x <= band && y >= -band && y <= band;
     }
 
 }
@@ -1,10 +1,43 @@
 package com.arman.pipelines;
 
+import com.arman.rasterizers.TriangleRasterizer;
+
 public class RasterizationPipeline implements Pipeline {
 
+    private TriangleRasterizer rasterizer;
+    private float[] vertices;
+    private int count;
+    private int stride;
+
+    public RasterizationPipeline() {
+        this(null);
+    }
+
+    public RasterizationPipeline(TriangleRasterizer rasterizer) {
+        this.rasterizer = rasterizer;
+        this.vertices = new float[0];
+        this.stride = TriangleRasterizer.POSITION_SIZE;
+    }
+
+    public void setRasterizer(TriangleRasterizer rasterizer) {
+        this.rasterizer = rasterizer;
+    }
+
+    public TriangleRasterizer getRasterizer() {
+        return rasterizer;
+    }
+
+    public void setInput(float[] vertices, int count, int stride) {
+        this.vertices = vertices;
+        this.count = count;
+        this.stride = stride;
+    }
+
     @Override
     public void execute() {
-
+        if (this.rasterizer != null && this.count >= 3) {
+            this.rasterizer.drawPolygon(this.vertices, this.stride, this.count);
+        }
     }
 
 }
@@ -0,0 +1,94 @@
+package com.arman.projectors;
+
+import com.arman.geom.Polygon3D;
+import com.arman.geom.Vector3D;
+import com.arman.main.View;
+
+public class Perspective extends Projection {
+
+    public static final float DEFAULT_FIELD_OF_VIEW = (float) (Math.PI / 2);
+
+    private float fieldOfView;
+    private float left, top, width, height;
+    private float distance;
+    private float centerX, centerY;
+
+    public Perspective(View view) {
+        this(DEFAULT_FIELD_OF_VIEW, view.getLeft(), view.getTop(), view.getWidth(), view.getHeight());
+    }
+
+    public Perspective(float fieldOfView, float left, float top, float width, float height) {
+        this.fieldOfView = fieldOfView;
+        this.setView(left, top, width, height);
+    }
+
+    public void setView(View view) {
+        this.setView(view.getLeft(), view.getTop(), view.getWidth(), view.getHeight());
+    }
+
+    public void setView(float left, float top, float width, float height) {
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+        this.update();
+    }
+
+    public void setFieldOfView(float fieldOfView) {
+        this.fieldOfView = fieldOfView;
+        this.update();
+    }
+
+    private void update() {
+        this.distance = (this.width / 2) / (float) Math.tan(this.fieldOfView / 2);
+        this.centerX = this.left + this.width / 2;
+        this.centerY = this.top + this.height / 2;
+    }
+
+    public float getFieldOfView() {
+        return fieldOfView;
+    }
+
+    public float getDistance() {
+        return distance;
+    }
+
+    @Override
+    public Vector3D project(Vector3D v) {
+        Vector3D result = new Vector3D();
+        this.project(v, result);
+        return result;
+    }
+
+    public void project(Vector3D v, Vector3D result) {
+        float scale = this.distance / v.getZ();
+        result.setX(this.centerX + v.getX() * scale);
+        result.setY(this.centerY - v.getY() * scale);
+        result.setZ(v.getZ());
+    }
+
+    public void project(Polygon3D p, Polygon3D result) {
+        int count = p.vertexCount();
+        if (result.vertexCount() != count) {
+            throw new IllegalArgumentException("result must have " + count + " vertices");
+        }
+        for (int i = 0; i < count; i++) {
+            this.project(p.get(i), result.get(i));
+        }
+    }
+
+    public void project(float[] vertices, int offset, int count, float[] result, int resultOffset) {
+        float distance = this.distance;
+        float centerX = this.centerX;
+        float centerY = this.centerY;
+        int end = offset + count * 3;
+        for (int i = offset, j = resultOffset; i < end; i += 3, j += 3) {
+            float z = vertices[i + 2];
+            float scale = distance / z;
+            result[j] = centerX + vertices[i] * scale;
+            result[j + 1] = centerY - vertices[i + 1] * scale;
+            result[j + 2] = z;
+        }
+    }
+
+}
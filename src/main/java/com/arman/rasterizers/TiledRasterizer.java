@@ -0,0 +1,208 @@
+package com.arman.rasterizers;
+
+import com.arman.renderers.Graphics;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class TiledRasterizer {
+
+    public static final int TILE_SIZE = 64;
+
+    private int[] pixels;
+    private int width;
+    private int height;
+    private int originX;
+    private int originY;
+    private int stride;
+    private int tileSize;
+    private int tilesX;
+    private int tilesY;
+    private ForkJoinPool pool;
+
+    private TriangleRasterizer[] tiles;
+    private int[][] bins;
+    private int[] binCounts;
+
+    private float[] triangles;
+    private int[] colors;
+    private int triangleCount;
+    private int color;
+    private int clearColor;
+
+    public TiledRasterizer(Graphics graphics, int stride) {
+        this(graphics.getPixels(), graphics.getWidth(), graphics.getHeight(), stride);
+        this.setOrigin(graphics.getOriginX(), graphics.getOriginY());
+    }
+
+    public TiledRasterizer(int[] pixels, int width, int height, int stride) {
+        this(pixels, width, height, stride, TILE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public TiledRasterizer(int[] pixels, int width, int height, int stride, int tileSize, ForkJoinPool pool) {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.stride = stride;
+        this.tileSize = tileSize;
+        this.pool = pool;
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+        this.tiles = new TriangleRasterizer[this.tilesX * this.tilesY];
+        this.bins = new int[this.tiles.length][16];
+        this.binCounts = new int[this.tiles.length];
+        for (int ty = 0; ty < this.tilesY; ty++) {
+            for (int tx = 0; tx < this.tilesX; tx++) {
+                int x = tx * tileSize;
+                int y = ty * tileSize;
+                int w = Math.min(tileSize, width - x);
+                int h = Math.min(tileSize, height - y);
+                this.tiles[ty * this.tilesX + tx] = new TriangleRasterizer(new int[w * h], w, h);
+            }
+        }
+        this.triangles = new float[stride * 3 * 256];
+        this.colors = new int[256];
+        this.color = 0xFFFFFFFF;
+        this.clearColor = 0xFF000000;
+        this.setOrigin(0, 0);
+    }
+
+    public void setOrigin(int originX, int originY) {
+        this.originX = originX;
+        this.originY = originY;
+        for (int ty = 0; ty < this.tilesY; ty++) {
+            for (int tx = 0; tx < this.tilesX; tx++) {
+                this.tiles[ty * this.tilesX + tx].setOrigin(originX + tx * this.tileSize, originY + ty * this.tileSize);
+            }
+        }
+    }
+
+    public void setColor(int color) {
+        this.color = color;
+    }
+
+    public void setClearColor(int clearColor) {
+        this.clearColor = clearColor;
+    }
+
+    // Every tile shares this shader and tiles run concurrently on the pool, so it must be thread-safe.
+    public void setShader(TriangleRasterizer.Shader shader) {
+        for (TriangleRasterizer tile : this.tiles) {
+            tile.setShader(shader);
+        }
+    }
+
+    public void setDepthTest(boolean depthTest) {
+        for (TriangleRasterizer tile : this.tiles) {
+            tile.setDepthTest(depthTest);
+        }
+    }
+
+    public int getTriangleCount() {
+        return triangleCount;
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    public void begin() {
+        this.triangleCount = 0;
+        Arrays.fill(this.binCounts, 0);
+    }
+
+    public void addPolygon(float[] vertices, int count) {
+        for (int i = 2; i < count; i++) {
+            this.add(vertices, 0, i - 1, i);
+        }
+    }
+
+    public void add(float[] vertices, int i0, int i1, int i2) {
+        int o0 = i0 * this.stride;
+        int o1 = i1 * this.stride;
+        int o2 = i2 * this.stride;
+        float minX = Math.min(vertices[o0], Math.min(vertices[o1], vertices[o2])) - this.originX;
+        float maxX = Math.max(vertices[o0], Math.max(vertices[o1], vertices[o2])) - this.originX;
+        float minY = Math.min(vertices[o0 + 1], Math.min(vertices[o1 + 1], vertices[o2 + 1])) - this.originY;
+        float maxY = Math.max(vertices[o0 + 1], Math.max(vertices[o1 + 1], vertices[o2 + 1])) - this.originY;
+        if (maxX < 0 || maxY < 0 || minX >= this.width || minY >= this.height) {
+            return;
+        }
+        int fromX = Math.max(0, (int) minX / this.tileSize);
+        int toX = Math.min(this.tilesX - 1, (int) maxX / this.tileSize);
+        int fromY = Math.max(0, (int) minY / this.tileSize);
+        int toY = Math.min(this.tilesY - 1, (int) maxY / this.tileSize);
+        int triangle = this.triangleCount++;
+        int size = this.stride * 3;
+        if (this.triangles.length < this.triangleCount * size) {
+            this.triangles = Arrays.copyOf(this.triangles, this.triangles.length * 2);
+            this.colors = Arrays.copyOf(this.colors, this.colors.length * 2);
+        }
+        System.arraycopy(vertices, o0, this.triangles, triangle * size, this.stride);
+        System.arraycopy(vertices, o1, this.triangles, triangle * size + this.stride, this.stride);
+        System.arraycopy(vertices, o2, this.triangles, triangle * size + 2 * this.stride, this.stride);
+        this.colors[triangle] = this.color;
+        for (int ty = fromY; ty <= toY; ty++) {
+            for (int tx = fromX; tx <= toX; tx++) {
+                int tile = ty * this.tilesX + tx;
+                int count = this.binCounts[tile];
+                if (count == this.bins[tile].length) {
+                    this.bins[tile] = Arrays.copyOf(this.bins[tile], count * 2);
+                }
+                this.bins[tile][count] = triangle;
+                this.binCounts[tile] = count + 1;
+            }
+        }
+    }
+
+    public void end() {
+        this.pool.invoke(new TileTask(0, this.tiles.length));
+    }
+
+    private void drawTile(int index) {
+        TriangleRasterizer tile = this.tiles[index];
+        int[] tilePixels = tile.getPixels();
+        Arrays.fill(tilePixels, this.clearColor);
+        tile.clearDepth();
+        int[] bin = this.bins[index];
+        for (int i = 0; i < this.binCounts[index]; i++) {
+            int triangle = bin[i];
+            tile.setColor(this.colors[triangle]);
+            tile.draw(this.triangles, this.stride, triangle * 3, triangle * 3 + 1, triangle * 3 + 2);
+        }
+        int x = (index % this.tilesX) * this.tileSize;
+        int y = (index / this.tilesX) * this.tileSize;
+        int w = tile.getWidth();
+        for (int row = 0; row < tile.getHeight(); row++) {
+            System.arraycopy(tilePixels, row * w, this.pixels, (y + row) * this.width + x, w);
+        }
+    }
+
+    private class TileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int start;
+        private int end;
+
+        TileTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= 1) {
+                if (this.end > this.start) {
+                    drawTile(this.start);
+                }
+                return;
+            }
+            int mid = (this.start + this.end) >>> 1;
+            invokeAll(new TileTask(this.start, mid), new TileTask(mid, this.end));
+        }
+
+    }
+
+}
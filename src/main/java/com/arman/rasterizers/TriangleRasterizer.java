@@ -1,4 +1,257 @@
 package com.arman.rasterizers;
 
+import com.arman.renderers.Graphics;
+
+import java.util.Arrays;
+
 public class TriangleRasterizer {
+
+    public static final int SUB_PIXEL_BITS = 4;
+    public static final int SUB_PIXEL = 1 << SUB_PIXEL_BITS;
+    public static final int BLOCK_SIZE = 8;
+    public static final int POSITION_SIZE = 4;
+    public static final int DEPTH_OFFSET = 3;
+
+    private int[] pixels;
+    private float[] depth;
+    private int width;
+    private int height;
+    private int originX;
+    private int originY;
+
+    private Shader shader;
+    private int color;
+    private boolean depthTest;
+
+    private float[] gradients;
+    private float[] attributes;
+
+    public TriangleRasterizer(Graphics graphics) {
+        this(graphics.getPixels(), graphics.getWidth(), graphics.getHeight());
+        this.setOrigin(graphics.getOriginX(), graphics.getOriginY());
+    }
+
+    public TriangleRasterizer(int[] pixels, int width, int height) {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.depth = new float[width * height];
+        this.color = 0xFFFFFFFF;
+        this.depthTest = true;
+        this.gradients = new float[3 * 4];
+        this.attributes = new float[4];
+        this.clearDepth();
+    }
+
+    // attributes[0] is the interpolated 1/w; the rest arrive pre-divided by w and are divided back by it, so they are perspective-correct.
+    public interface Shader {
+
+        int shade(int x, int y, float[] attributes);
+
+    }
+
+    public void clearDepth() {
+        Arrays.fill(this.depth, 0);
+    }
+
+    public void setShader(Shader shader) {
+        this.shader = shader;
+    }
+
+    public void setColor(int color) {
+        this.color = color;
+    }
+
+    public void setDepthTest(boolean depthTest) {
+        this.depthTest = depthTest;
+    }
+
+    public void setOrigin(int originX, int originY) {
+        this.originX = originX;
+        this.originY = originY;
+    }
+
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public float[] getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void drawPolygon(float[] vertices, int stride, int count) {
+        for (int i = 2; i < count; i++) {
+            this.draw(vertices, stride, 0, i - 1, i);
+        }
+    }
+
+    public void draw(float[] vertices, int stride, int i0, int i1, int i2) {
+        int o0 = i0 * stride;
+        int o1 = i1 * stride;
+        int o2 = i2 * stride;
+        int x0 = Math.round(vertices[o0] * SUB_PIXEL) - (this.originX << SUB_PIXEL_BITS);
+        int y0 = Math.round(vertices[o0 + 1] * SUB_PIXEL) - (this.originY << SUB_PIXEL_BITS);
+        int x1 = Math.round(vertices[o1] * SUB_PIXEL) - (this.originX << SUB_PIXEL_BITS);
+        int y1 = Math.round(vertices[o1 + 1] * SUB_PIXEL) - (this.originY << SUB_PIXEL_BITS);
+        int x2 = Math.round(vertices[o2] * SUB_PIXEL) - (this.originX << SUB_PIXEL_BITS);
+        int y2 = Math.round(vertices[o2 + 1] * SUB_PIXEL) - (this.originY << SUB_PIXEL_BITS);
+        long area = (long) (x1 - x0) * (y2 - y0) - (long) (y1 - y0) * (x2 - x0);
+        if (area == 0) {
+            return;
+        }
+        if (area < 0) {
+            int temp = x1;
+            x1 = x2;
+            x2 = temp;
+            temp = y1;
+            y1 = y2;
+            y2 = temp;
+            temp = o1;
+            o1 = o2;
+            o2 = temp;
+            area = -area;
+        }
+        int minX = Math.max(0, (Math.min(x0, Math.min(x1, x2)) >> SUB_PIXEL_BITS));
+        int maxX = Math.min(this.width - 1, (Math.max(x0, Math.max(x1, x2)) + SUB_PIXEL - 1) >> SUB_PIXEL_BITS);
+        int minY = Math.max(0, (Math.min(y0, Math.min(y1, y2)) >> SUB_PIXEL_BITS));
+        int maxY = Math.min(this.height - 1, (Math.max(y0, Math.max(y1, y2)) + SUB_PIXEL - 1) >> SUB_PIXEL_BITS);
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+        minX &= ~(BLOCK_SIZE - 1);
+        minY &= ~(BLOCK_SIZE - 1);
+        int a01 = (y0 - y1) * SUB_PIXEL, b01 = (x1 - x0) * SUB_PIXEL;
+        int a12 = (y1 - y2) * SUB_PIXEL, b12 = (x2 - x1) * SUB_PIXEL;
+        int a20 = (y2 - y0) * SUB_PIXEL, b20 = (x0 - x2) * SUB_PIXEL;
+        int bias0 = isTopLeft(x1, y1, x2, y2) ? 0 : -1;
+        int bias1 = isTopLeft(x2, y2, x0, y0) ? 0 : -1;
+        int bias2 = isTopLeft(x0, y0, x1, y1) ? 0 : -1;
+        int px = (minX << SUB_PIXEL_BITS) + SUB_PIXEL / 2;
+        int py = (minY << SUB_PIXEL_BITS) + SUB_PIXEL / 2;
+        long row0 = edge(x1, y1, x2, y2, px, py) + bias0;
+        long row1 = edge(x2, y2, x0, y0, px, py) + bias1;
+        long row2 = edge(x0, y0, x1, y1, px, py) + bias2;
+
+        int attributeCount = stride - DEPTH_OFFSET;
+        if (this.gradients.length < attributeCount * 3) {
+            this.gradients = new float[attributeCount * 3];
+            this.attributes = new float[attributeCount];
+        }
+        float inverseArea = (float) SUB_PIXEL * SUB_PIXEL / area;
+        float fx0 = x0 / (float) SUB_PIXEL;
+        float fy0 = y0 / (float) SUB_PIXEL;
+        float cx = minX + 0.5f - fx0;
+        float cy = minY + 0.5f - fy0;
+        float ex1 = (x1 - x0) / (float) SUB_PIXEL, ey1 = (y1 - y0) / (float) SUB_PIXEL;
+        float ex2 = (x2 - x0) / (float) SUB_PIXEL, ey2 = (y2 - y0) / (float) SUB_PIXEL;
+        for (int k = 0; k < attributeCount; k++) {
+            float v0 = vertices[o0 + DEPTH_OFFSET + k];
+            float d1 = vertices[o1 + DEPTH_OFFSET + k] - v0;
+            float d2 = vertices[o2 + DEPTH_OFFSET + k] - v0;
+            float dx = (d1 * ey2 - d2 * ey1) * inverseArea;
+            float dy = (d2 * ex1 - d1 * ex2) * inverseArea;
+            this.gradients[k * 3] = v0 + dx * cx + dy * cy;
+            this.gradients[k * 3 + 1] = dx;
+            this.gradients[k * 3 + 2] = dy;
+        }
+        int step = BLOCK_SIZE - 1;
+        for (int by = minY; by <= maxY; by += BLOCK_SIZE) {
+            long e0 = row0;
+            long e1 = row1;
+            long e2 = row2;
+            for (int bx = minX; bx <= maxX; bx += BLOCK_SIZE) {
+                int c0 = corners(e0, a12, b12, step);
+                int c1 = corners(e1, a20, b20, step);
+                int c2 = corners(e2, a01, b01, step);
+                if (c0 != 0 && c1 != 0 && c2 != 0) {
+                    boolean full = c0 == 0xF && c1 == 0xF && c2 == 0xF;
+                    this.block(bx, by, Math.min(bx + BLOCK_SIZE, maxX + 1), Math.min(by + BLOCK_SIZE, maxY + 1),
+                            full, e0, e1, e2, a12, b12, a20, b20, a01, b01, attributeCount, minX, minY);
+                }
+                e0 += (long) a12 * BLOCK_SIZE;
+                e1 += (long) a20 * BLOCK_SIZE;
+                e2 += (long) a01 * BLOCK_SIZE;
+            }
+            row0 += (long) b12 * BLOCK_SIZE;
+            row1 += (long) b20 * BLOCK_SIZE;
+            row2 += (long) b01 * BLOCK_SIZE;
+        }
+    }
+
+    private void block(int bx, int by, int endX, int endY, boolean full, long e0, long e1, long e2,
+                       int a0, int b0, int a1, int b1, int a2, int b2, int attributeCount, int minX, int minY) {
+        float[] gradients = this.gradients;
+        float[] attributes = this.attributes;
+        float depthStart = gradients[0] + gradients[1] * (bx - minX) + gradients[2] * (by - minY);
+        float depthDx = gradients[1];
+        float depthDy = gradients[2];
+        for (int y = by; y < endY; y++) {
+            long w0 = e0;
+            long w1 = e1;
+            long w2 = e2;
+            float z = depthStart;
+            int index = y * this.width + bx;
+            for (int x = bx; x < endX; x++, index++) {
+                if (full || (w0 | w1 | w2) >= 0) {
+                    if (!this.depthTest || z > this.depth[index]) {
+                        this.depth[index] = z;
+                        if (this.shader == null) {
+                            this.pixels[index] = this.color;
+                        } else {
+                            float dx = x - minX;
+                            float dy = y - minY;
+                            float w = 1 / z;
+                            attributes[0] = z;
+                            for (int k = 1; k < attributeCount; k++) {
+                                attributes[k] = (gradients[k * 3] + gradients[k * 3 + 1] * dx + gradients[k * 3 + 2] * dy) * w;
+                            }
+                            this.pixels[index] = this.shader.shade(x + this.originX, y + this.originY, attributes);
+                        }
+                    }
+                }
+                w0 += a0;
+                w1 += a1;
+                w2 += a2;
+                z += depthDx;
+            }
+            e0 += b0;
+            e1 += b1;
+            e2 += b2;
+            depthStart += depthDy;
+        }
+    }
+
+    private static int corners(long e, int a, int b, int step) {
+        int mask = 0;
+        if (e >= 0) {
+            mask |= 1;
+        }
+        if (e + (long) a * step >= 0) {
+            mask |= 2;
+        }
+        if (e + (long) b * step >= 0) {
+            mask |= 4;
+        }
+        if (e + (long) a * step + (long) b * step >= 0) {
+            mask |= 8;
+        }
+        return mask;
+    }
+
+    private static long edge(int ax, int ay, int bx, int by, int px, int py) {
+        return (long) (bx - ax) * (py - ay) - (long) (by - ay) * (px - ax);
+    }
+
+    private static boolean isTopLeft(int ax, int ay, int bx, int by) {
+        return (ay == by && bx > ax) || by < ay;
+    }
+
 }
@@ -1,87 +1,92 @@
-
 package com.arman.renderers;
 
-import com.arman.geom.Polygon3D;
-import com.arman.models.Edge;
-
-import java.util.*;
+import java.util.Arrays;
 
 public class ActiveEdgeTable {
 
-    private final List<EdgeData> activeEdges;
-    private int scanLine;
+    private final GlobalEdgeTable globalEdgeTable;
+    private int[] activeEdges;
+    private int size;
 
-    public ActiveEdgeTable() {
-        this(0);
+    public ActiveEdgeTable(GlobalEdgeTable globalEdgeTable) {
+        this.globalEdgeTable = globalEdgeTable;
+        this.activeEdges = new int[16];
     }
 
-    public ActiveEdgeTable(int scanLine) {
-        this.activeEdges = new LinkedList<>();
-        set(scanLine);
+    public void clear() {
+        this.size = 0;
     }
 
     public void nextLine() {
-        scanLine++;
-        activeEdges.forEach(EdgeData::increment);
-    }
-
-    public void set(int scanLine) {
-        this.scanLine = scanLine;
-        activeEdges.forEach(edge -> edge.setToIntersect(scanLine));
-    }
-
-    public void cleanUp(int bottomY) {
-        activeEdges.removeIf(edge -> edge.endsAt(bottomY));
+        for (int i = 0; i < this.size; i++) {
+            this.globalEdgeTable.increment(this.activeEdges[i]);
+        }
     }
 
-    public void add(EdgeData edge) {
-        activeEdges.add(edge);
-        edge.setToIntersect(scanLine);
+    public void cleanUp(int scanLine) {
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            int edge = this.activeEdges[i];
+            if (this.globalEdgeTable.getBottom(edge) > scanLine) {
+                this.activeEdges[count++] = edge;
+            }
+        }
+        this.size = count;
     }
 
-    public void add(Edge edge, Polygon3D poly) {
-        add(new EdgeData(edge, poly));
+    public void add(int edge) {
+        if (this.size == this.activeEdges.length) {
+            this.activeEdges = Arrays.copyOf(this.activeEdges, this.size * 2);
+        }
+        this.activeEdges[this.size++] = edge;
     }
 
-    public void addAll(Collection<? extends Edge> edges, Polygon3D poly) {
-        edges.forEach(edge -> add(new EdgeData(edge, poly)));
+    public void addAll(int scanLine) {
+        for (int edge = this.globalEdgeTable.getFirst(scanLine); edge >= 0; edge = this.globalEdgeTable.getNext(edge)) {
+            this.add(edge);
+        }
     }
 
-    public void addAll(Collection<? extends EdgeData> edges) {
-        activeEdges.addAll(edges);
+    public void sort() {
+        for (int i = 1; i < this.size; i++) {
+            int edge = this.activeEdges[i];
+            float x = this.globalEdgeTable.getX(edge);
+            int j = i - 1;
+            while (j >= 0 && this.globalEdgeTable.getX(this.activeEdges[j]) > x) {
+                this.activeEdges[j + 1] = this.activeEdges[j];
+                j--;
+            }
+            this.activeEdges[j + 1] = edge;
+        }
     }
 
     public int size() {
-        return activeEdges.size();
+        return this.size;
     }
 
-    public boolean isValid() {
-        return activeEdges.stream().anyMatch(EdgeData::isValid);
+    public boolean isEmpty() {
+        return this.size == 0;
     }
 
-    public EdgeData get(int index) {
-        return activeEdges.get(index);
+    public int get(int index) {
+        return this.activeEdges[index];
     }
 
-    public void sort() {
-        activeEdges.sort(Comparator.comparingDouble(EdgeData::getX));
+    public float getX(int index) {
+        return this.globalEdgeTable.getX(this.activeEdges[index]);
     }
 
-    public boolean isEmpty() {
-        return activeEdges.isEmpty();
-    }
-
-    public int getScanLine() {
-        return scanLine;
+    public int getPolygon(int index) {
+        return this.globalEdgeTable.getPolygon(this.activeEdges[index]);
     }
 
     @Override
     public String toString() {
         StringBuilder res = new StringBuilder();
-        for (EdgeData edge : activeEdges) {
-            res.append(scanLine).append(": ").append(edge).append(" ");
+        for (int i = 0; i < this.size; i++) {
+            res.append(this.getX(i)).append(" ");
         }
         return res.toString().trim() + "\n";
     }
-}
 
+}
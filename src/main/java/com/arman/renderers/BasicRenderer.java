@@ -6,10 +6,16 @@ import com.arman.geom.Transform3D;
 import com.arman.geom.Vector3D;
 import com.arman.main.Camera;
 import com.arman.main.View;
+import com.arman.models.DirectMesh;
 import com.arman.models.Mesh;
+import com.arman.models.Model;
+import com.arman.models.QuantizedMesh;
+import com.arman.pipelines.ClippingPipeline;
+import com.arman.rasterizers.TiledRasterizer;
+import com.arman.rasterizers.TriangleRasterizer;
+import com.arman.trees.BSPTree;
 
 import java.awt.*;
-import java.util.List;
 
 public class BasicRenderer implements Renderer {
 
@@ -17,6 +23,13 @@ public class BasicRenderer implements Renderer {
     protected View view;
     protected Camera camera;
     protected boolean clearEveryFrame;
+    protected int[] order;
+    protected ClippingPipeline clippingPipeline;
+    protected Polygon3D screenPoly;
+    protected SpanBuffer spanBuffer;
+    protected Graphics graphics;
+    protected TriangleRasterizer rasterizer;
+    protected TiledRasterizer tiledRasterizer;
 
     public BasicRenderer(Camera camera, View view) {
         this(camera, view, true);
@@ -27,6 +40,9 @@ public class BasicRenderer implements Renderer {
         this.camera = camera;
         this.scanConverter = new ScanConverter(view.getBounds());
         this.clearEveryFrame = clearEveryFrame;
+        this.order = new int[0];
+        this.clippingPipeline = new ClippingPipeline(view);
+        this.graphics = new Graphics(view.getLeft(), view.getTop(), view.getWidth(), view.getHeight());
     }
 
     public BasicRenderer(Transform3D camera, View view) {
@@ -40,26 +56,90 @@ public class BasicRenderer implements Renderer {
     @Override
     public void before(Graphics2D g) {
         if (clearEveryFrame) {
-            g.setColor(Color.BLACK);
-            g.fillRect(view.getLeft(), view.getTop(), view.getWidth(), view.getHeight());
+            this.graphics.clear();
+        }
+        if (this.rasterizer != null) {
+            this.rasterizer.clearDepth();
+        }
+        if (this.tiledRasterizer != null) {
+            this.tiledRasterizer.begin();
         }
     }
 
     @Override
     public void after(Graphics2D g) {
+        if (this.tiledRasterizer != null) {
+            this.tiledRasterizer.end();
+        }
+        if (this.spanBuffer != null) {
+            this.spanBuffer.draw(this.graphics);
+            this.spanBuffer.clear();
+        }
+        this.graphics.blit(g);
+    }
+
+    public Graphics getGraphics() {
+        return graphics;
+    }
+
+    public void setSpanBuffer(boolean enabled) {
+        this.spanBuffer = enabled ? new SpanBuffer(view.getTop(), view.getHeight()) : null;
+    }
+
+    public boolean isSpanBuffer() {
+        return this.spanBuffer != null;
+    }
 
+    public void setRasterizer(boolean enabled) {
+        this.rasterizer = enabled ? new TriangleRasterizer(this.graphics) : null;
+    }
+
+    public boolean isRasterizer() {
+        return this.rasterizer != null;
+    }
+
+    public void setTiledRasterizer(boolean enabled) {
+        this.tiledRasterizer = enabled ? new TiledRasterizer(this.graphics, this.clippingPipeline.getStride()) : null;
+        if (this.tiledRasterizer != null) {
+            this.tiledRasterizer.setClearColor(0);
+        }
+    }
+
+    public boolean isTiledRasterizer() {
+        return this.tiledRasterizer != null;
     }
 
     @Override
     public void draw(Graphics2D g, Polygon3D poly) {
         if (poly.isFacing(camera.getLocation())) {
-            Polygon3D drawPoly = new Polygon3D(poly);
-            drawPoly.subtract(camera.getTransform());
-            boolean visible = drawPoly.clip(1);
+            drawFace(g, poly);
+        }
+    }
+
+    protected void drawFace(Graphics2D g, Polygon3D poly) {
+        Polygon3D drawPoly = RenderBuffer.get().getScratch(poly.vertexCount());
+        for (int i = 0; i < poly.vertexCount(); i++) {
+            drawPoly.get(i).set(poly.get(i));
+        }
+        drawPoly.subtract(camera.getTransform());
+        drawView(g, drawPoly, poly);
+    }
+
+    protected void drawView(Graphics2D g, Polygon3D viewPoly, Polygon3D poly) {
+        this.screenPoly = this.clippingPipeline.clip(viewPoly);
+        boolean visible = this.screenPoly != null;
+        if (visible && this.tiledRasterizer != null) {
+            this.tiledRasterizer.setColor(getColor(poly).getRGB());
+            this.tiledRasterizer.addPolygon(this.clippingPipeline.getOutput(), this.clippingPipeline.getOutputCount());
+        } else if (visible && this.rasterizer != null) {
+            this.rasterizer.setColor(getColor(poly).getRGB());
+            this.rasterizer.drawPolygon(this.clippingPipeline.getOutput(), this.clippingPipeline.getStride(), this.clippingPipeline.getOutputCount());
+        } else if (visible) {
+            visible = this.scanConverter.convert(this.screenPoly);
             if (visible) {
-//                drawPoly.project(this.view);
-                visible = this.scanConverter.convert(drawPoly);
-                if (visible) {
+                if (this.spanBuffer != null) {
+                    drawSpans(poly);
+                } else {
                     drawNext(g, poly);
                 }
             }
@@ -78,20 +158,71 @@ public class BasicRenderer implements Renderer {
 
     @Override
     public void draw(Graphics2D g, Mesh m) {
-        List<Polygon3D> faces = m.getFaces();
-        for (int i = 0; i < faces.size(); i++) {
-            Polygon3D poly = faces.get(i);
-            draw(g, poly);
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(m, null, camera);
+        drawBuffer(g, buffer);
+    }
+
+    public void draw(Graphics2D g, Model model) {
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(model, camera);
+        drawBuffer(g, buffer);
+    }
+
+    public void draw(Graphics2D g, DirectMesh m, Transform3D transform) {
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(m, transform, camera);
+        drawBuffer(g, buffer);
+    }
+
+    public void draw(Graphics2D g, QuantizedMesh m, Transform3D transform) {
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(m, transform, camera);
+        drawBuffer(g, buffer);
+    }
+
+    protected void drawBuffer(Graphics2D g, RenderBuffer buffer) {
+        Mesh m = buffer.getMesh();
+        for (int i = 0; i < buffer.getFaceCount(); i++) {
+            if (buffer.isFacing(i)) {
+                Polygon3D viewPoly = buffer.getPolygon(i);
+                drawView(g, viewPoly, m != null ? m.getFaces().get(i) : viewPoly);
+            }
         }
     }
 
+    public void draw(Graphics2D g, BSPTree tree) {
+        if (this.order.length < tree.getPolygons().size()) {
+            this.order = new int[tree.getPolygons().size()];
+        }
+        Vector3D location = camera.getLocation();
+        int count = tree.backToFront(location, this.order);
+        for (int i = 0; i < count; i++) {
+            if (tree.isFacing(this.order[i], location)) {
+                drawFace(g, tree.get(this.order[i]));
+            }
+        }
+    }
+
+    protected void drawSpans(Polygon3D poly) {
+        int polygon = this.spanBuffer.addPolygon(this.screenPoly, getColor(poly));
+        for (int y = this.scanConverter.getTop(); y <= this.scanConverter.getBottom(); y++) {
+            if (this.scanConverter.isValid(y)) {
+                this.spanBuffer.insert(y, this.scanConverter.getLeft(y), this.scanConverter.getRight(y) + 1, polygon);
+            }
+        }
+    }
+
+    protected Color getColor(Polygon3D poly) {
+        return Color.WHITE;
+    }
+
     protected void drawNext(Graphics2D g, Polygon3D poly) {
-        g.setColor(Color.WHITE);
+        this.graphics.setColor(getColor(poly));
         int y = this.scanConverter.getTop();
         while (y <= this.scanConverter.getBottom()) {
-            ScanLine scanLine = this.scanConverter.getScanLine(y);
-            if (scanLine.isValid()) {
-                g.drawLine(scanLine.getLeft(), y, scanLine.getRight(), y);
+            if (this.scanConverter.isValid(y)) {
+                this.graphics.fillSpan(y, this.scanConverter.getLeft(y), this.scanConverter.getRight(y));
             }
             y++;
         }
@@ -1,93 +1,141 @@
 package com.arman.renderers;
 
 import com.arman.geom.Polygon3D;
-import com.arman.models.Edge;
+import com.arman.geom.Vector3D;
 
-import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 public class GlobalEdgeTable {
 
-    private List<EdgeData>[] globalEdges;
-    private Polygon3D poly;
+    private int top;
+    private int[] heads;
+    private int[] next;
+    private int[] bottoms;
+    private int[] polygons;
+    private float[] xs;
+    private float[] increments;
+    private int size;
+    private int topY;
+    private int bottomY;
 
     public GlobalEdgeTable(int height) {
-        this(height, null);
+        this(0, height);
     }
 
-    public GlobalEdgeTable(int height, Polygon3D poly) {
-        this.set(height, poly);
+    public GlobalEdgeTable(int top, int height) {
+        this.top = top;
+        this.heads = new int[height];
+        Arrays.fill(this.heads, -1);
+        this.next = new int[64];
+        this.bottoms = new int[64];
+        this.polygons = new int[64];
+        this.xs = new float[64];
+        this.increments = new float[64];
+        this.topY = Integer.MAX_VALUE;
+        this.bottomY = Integer.MIN_VALUE;
     }
 
-    public void set(Polygon3D poly) {
-        this.poly = poly;
-        for (Edge edge : poly.edges()) {
-            this.add(edge);
+    public void clear() {
+        if (this.topY <= this.bottomY) {
+            Arrays.fill(this.heads, this.topY - this.top, this.bottomY - this.top, -1);
         }
+        this.size = 0;
+        this.topY = Integer.MAX_VALUE;
+        this.bottomY = Integer.MIN_VALUE;
     }
 
-    public void set(int height, Polygon3D poly) {
-        this.globalEdges = new LinkedList[height];
-        for (int i = 0; i < this.globalEdges.length; i++) {
-            this.globalEdges[i] = new LinkedList<>();
-        }
-        if (poly != null) {
-            this.set(poly);
+    public void set(Polygon3D poly, int polygon) {
+        int n = poly.vertexCount();
+        for (int i = 0; i < n; i++) {
+            Vector3D v0 = poly.get(i);
+            Vector3D v1 = poly.get((i + 1) % n);
+            this.add(v0.getX(), v0.getY(), v1.getX(), v1.getY(), polygon);
         }
     }
 
-    public float getTopY() {
-        for (int i = 0; i < this.globalEdges.length; i++) {
-            if (!this.globalEdges[i].isEmpty()) {
-                return i;
-            }
+    public void add(float x0, float y0, float x1, float y1, int polygon) {
+        if (y0 > y1) {
+            float temp = x0;
+            x0 = x1;
+            x1 = temp;
+            temp = y0;
+            y0 = y1;
+            y1 = temp;
+        }
+        int start = Math.max(this.top, (int) Math.ceil(y0 - 0.5f));
+        int end = Math.min(this.top + this.heads.length, (int) Math.ceil(y1 - 0.5f));
+        if (start >= end) {
+            return;
         }
-        return this.height();
+        if (this.size == this.xs.length) {
+            int capacity = this.size * 2;
+            this.next = Arrays.copyOf(this.next, capacity);
+            this.bottoms = Arrays.copyOf(this.bottoms, capacity);
+            this.polygons = Arrays.copyOf(this.polygons, capacity);
+            this.xs = Arrays.copyOf(this.xs, capacity);
+            this.increments = Arrays.copyOf(this.increments, capacity);
+        }
+        int edge = this.size++;
+        float increment = (x1 - x0) / (y1 - y0);
+        this.increments[edge] = increment;
+        this.xs[edge] = x0 + (start + 0.5f - y0) * increment;
+        this.bottoms[edge] = end;
+        this.polygons[edge] = polygon;
+        this.next[edge] = this.heads[start - this.top];
+        this.heads[start - this.top] = edge;
+        this.topY = Math.min(this.topY, start);
+        this.bottomY = Math.max(this.bottomY, end);
     }
 
-    public float getBottomY() {
-        for (int i = this.globalEdges.length - 1; i >= 0; i--) {
-            if (!this.globalEdges[i].isEmpty()) {
-                return i;
-            }
-        }
-        return 0;
+    public int getFirst(int y) {
+        return this.heads[y - this.top];
     }
 
-    public void add(Edge edge) {
-        EdgeData ed = new EdgeData(edge, this.poly);
-        this.globalEdges[(int) ed.getTopY()].add(ed);
+    public int getNext(int edge) {
+        return this.next[edge];
     }
 
-    public void addAll(Collection<? extends Edge> edges) {
-        for (Edge e : edges) {
-            this.add(e);
-        }
+    public float getX(int edge) {
+        return this.xs[edge];
+    }
+
+    public void increment(int edge) {
+        this.xs[edge] += this.increments[edge];
     }
 
-    public List<EdgeData> get(int topY) {
-        return this.globalEdges[topY];
+    public int getBottom(int edge) {
+        return this.bottoms[edge];
+    }
+
+    public int getPolygon(int edge) {
+        return this.polygons[edge];
+    }
+
+    public int getTopY() {
+        return this.topY;
+    }
+
+    public int getBottomY() {
+        return this.bottomY;
+    }
+
+    public int size() {
+        return this.size;
     }
 
     public int height() {
-        return this.globalEdges.length;
+        return this.heads.length;
     }
 
     @Override
     public String toString() {
-        String res = "";
-        for (int i = 0; i < this.globalEdges.length; i++) {
-            for (int j = 0; j < this.globalEdges[i].size(); j++) {
-                res += i + ": ";
-                res += this.globalEdges[i].get(j).toString();
-                res += " ";
-            }
-            if (!this.globalEdges[i].isEmpty()) {
-                res += "\n";
+        StringBuilder res = new StringBuilder();
+        for (int y = this.topY; y < this.bottomY; y++) {
+            for (int edge = this.getFirst(y); edge >= 0; edge = this.next[edge]) {
+                res.append(y).append(": ").append(this.xs[edge]).append(" -> ").append(this.bottoms[edge]).append(" ");
             }
         }
-        return res;
+        return res.toString().trim();
     }
 
 }
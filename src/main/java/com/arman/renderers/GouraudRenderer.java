@@ -0,0 +1,224 @@
+package com.arman.renderers;
+
+import com.arman.clippers.FrustumClipper;
+import com.arman.geom.Transform3D;
+import com.arman.geom.Vector3D;
+import com.arman.main.Camera;
+import com.arman.main.View;
+import com.arman.models.Mesh;
+import com.arman.models.Model;
+import com.arman.models.Vertex;
+import com.arman.pipelines.ClippingPipeline;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+public class GouraudRenderer extends BasicRenderer {
+
+    public static final float DEFAULT_AMBIENT = 0.2f;
+
+    private static final int STRIDE = FrustumClipper.POSITION_SIZE + 3;
+    private static final int CHANNEL_MAX = (255 << ScanConverter.SCALE_BITS) | ScanConverter.SCALE_MASK;
+
+    private ClippingPipeline colorPipeline;
+    private float[] input;
+
+    private Vector3D light;
+    private Vector3D modelLight;
+    private float ambient;
+
+    private Mesh litMesh;
+    private float[] litNormals;
+    private float[] vertexNormals;
+    private int[] vertexColors;
+
+    public GouraudRenderer(Camera camera, View view) {
+        this(camera, view, true);
+    }
+
+    public GouraudRenderer(Camera camera, View view, boolean clearEveryFrame) {
+        super(camera, view, clearEveryFrame);
+        this.colorPipeline = new ClippingPipeline(view, STRIDE);
+        this.input = new float[16 * STRIDE];
+        this.light = new Vector3D(0, 0, -1);
+        this.modelLight = new Vector3D();
+        this.ambient = DEFAULT_AMBIENT;
+        this.vertexNormals = new float[0];
+        this.vertexColors = new int[0];
+    }
+
+    public GouraudRenderer(Transform3D camera, View view) {
+        this(new Camera(camera), view);
+    }
+
+    public void setLight(Vector3D direction) {
+        this.light.set(direction);
+        this.light.normalize();
+    }
+
+    public Vector3D getLight() {
+        return light;
+    }
+
+    public void setAmbient(float ambient) {
+        this.ambient = ambient;
+    }
+
+    @Override
+    public void setSpanBuffer(boolean enabled) {
+        if (enabled) {
+            throw new UnsupportedOperationException("span buffer does not support gouraud shading");
+        }
+        super.setSpanBuffer(false);
+    }
+
+    @Override
+    public void setRasterizer(boolean enabled) {
+        if (enabled) {
+            throw new UnsupportedOperationException("triangle rasterizer does not support gouraud shading");
+        }
+        super.setRasterizer(false);
+    }
+
+    @Override
+    public void setTiledRasterizer(boolean enabled) {
+        if (enabled) {
+            throw new UnsupportedOperationException("tiled rasterizer does not support gouraud shading");
+        }
+        super.setTiledRasterizer(false);
+    }
+
+    @Override
+    public void draw(Graphics2D g, Mesh m) {
+        this.modelLight.set(this.light);
+        super.draw(g, m);
+    }
+
+    @Override
+    public void draw(Graphics2D g, Model model) {
+        this.modelLight.set(this.light);
+        model.getTransform().unrotate(this.modelLight);
+        this.modelLight.normalize();
+        super.draw(g, model);
+    }
+
+    @Override
+    protected void drawBuffer(Graphics2D g, RenderBuffer buffer) {
+        Mesh m = buffer.getMesh();
+        if (m == null) {
+            super.drawBuffer(g, buffer);
+            return;
+        }
+        this.light(m);
+        int[] indices = m.getIndices();
+        int[] offsets = m.getOffsets();
+        float[] positions = buffer.getPositions();
+        for (int face = 0; face < offsets.length - 1; face++) {
+            if (!buffer.isFacing(face)) {
+                continue;
+            }
+            int first = offsets[face];
+            int count = offsets[face + 1] - first;
+            if (this.input.length < count * STRIDE) {
+                this.input = new float[count * STRIDE];
+            }
+            for (int i = 0; i < count; i++) {
+                int vertex = indices[first + i];
+                int offset = i * STRIDE;
+                this.colorPipeline.toClip(positions[vertex * 3], positions[vertex * 3 + 1], positions[vertex * 3 + 2], this.input, offset);
+                int rgb = this.vertexColors[vertex];
+                this.input[offset + 4] = (rgb >> 16) & 0xFF;
+                this.input[offset + 5] = (rgb >> 8) & 0xFF;
+                this.input[offset + 6] = rgb & 0xFF;
+            }
+            int clipped = this.colorPipeline.clip(this.input, count);
+            if (clipped < 3) {
+                continue;
+            }
+            float[] output = this.colorPipeline.getOutput();
+            for (int i = 0, offset = 0; i < clipped; i++, offset += STRIDE) {
+                output[offset + 4] *= output[offset + 2];
+                output[offset + 5] *= output[offset + 2];
+                output[offset + 6] *= output[offset + 2];
+            }
+            if (this.scanConverter.convert(output, STRIDE, clipped, 4, 3)) {
+                this.fill();
+            }
+        }
+    }
+
+    private void light(Mesh m) {
+        float[] normals = m.getNormals();
+        int[] indices = m.getIndices();
+        List<Vector3D> vertices = m.getVertices();
+        int count = vertices.size();
+        if (this.vertexColors.length < count) {
+            this.vertexColors = new int[count];
+        }
+        if (m != this.litMesh || normals != this.litNormals || this.vertexNormals.length < count * 3) {
+            if (this.vertexNormals.length < count * 3) {
+                this.vertexNormals = new float[count * 3];
+            }
+            Arrays.fill(this.vertexNormals, 0, count * 3, 0);
+            for (int c = 0; c < indices.length; c++) {
+                int v = indices[c] * 3;
+                this.vertexNormals[v] += normals[c * 3];
+                this.vertexNormals[v + 1] += normals[c * 3 + 1];
+                this.vertexNormals[v + 2] += normals[c * 3 + 2];
+            }
+            this.litMesh = m;
+            this.litNormals = normals;
+        }
+        float lx = this.modelLight.getX();
+        float ly = this.modelLight.getY();
+        float lz = this.modelLight.getZ();
+        for (int i = 0; i < count; i++) {
+            float nx = this.vertexNormals[i * 3];
+            float ny = this.vertexNormals[i * 3 + 1];
+            float nz = this.vertexNormals[i * 3 + 2];
+            float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+            float diffuse = length > 0 ? Math.max(0, (nx * lx + ny * ly + nz * lz) / length) : 0;
+            float intensity = Math.min(1, this.ambient + (1 - this.ambient) * diffuse);
+            Vector3D v = vertices.get(i);
+            int rgb = v instanceof Vertex && ((Vertex) v).getColor() != null ? ((Vertex) v).getColor().getRGB() : 0xFFFFFF;
+            int red = (int) (((rgb >> 16) & 0xFF) * intensity);
+            int green = (int) (((rgb >> 8) & 0xFF) * intensity);
+            int blue = (int) ((rgb & 0xFF) * intensity);
+            this.vertexColors[i] = (red << 16) | (green << 8) | blue;
+        }
+    }
+
+    private void fill() {
+        int[] pixels = this.graphics.getPixels();
+        int width = this.graphics.getWidth();
+        int originX = this.graphics.getOriginX();
+        int originY = this.graphics.getOriginY();
+        for (int y = this.scanConverter.getTop(); y <= this.scanConverter.getBottom(); y++) {
+            if (!this.scanConverter.isValid(y)) {
+                continue;
+            }
+            int left = this.scanConverter.getLeft(y);
+            int right = this.scanConverter.getRight(y);
+            int red = clamp(this.scanConverter.getLeftAttribute(y, 0));
+            int green = clamp(this.scanConverter.getLeftAttribute(y, 1));
+            int blue = clamp(this.scanConverter.getLeftAttribute(y, 2));
+            int length = Math.max(1, right - left);
+            int redStep = (clamp(this.scanConverter.getRightAttribute(y, 0)) - red) / length;
+            int greenStep = (clamp(this.scanConverter.getRightAttribute(y, 1)) - green) / length;
+            int blueStep = (clamp(this.scanConverter.getRightAttribute(y, 2)) - blue) / length;
+            int offset = (y - originY) * width - originX;
+            for (int i = offset + left, end = offset + right; i <= end; i++) {
+                pixels[i] = ((red >> ScanConverter.SCALE_BITS) << 16) | ((green >> ScanConverter.SCALE_BITS) << 8) | (blue >> ScanConverter.SCALE_BITS);
+                red += redStep;
+                green += greenStep;
+                blue += blueStep;
+            }
+        }
+    }
+
+    private static int clamp(int channel) {
+        return Math.max(0, Math.min(CHANNEL_MAX, channel));
+    }
+
+}
@@ -7,30 +7,73 @@ import org.jetbrains.annotations.NotNull;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
+import java.util.Arrays;
 
 public class Graphics {
 
     private static final int RGB_WHITE = 16777215;
 
+    private BufferedImage image;
     private int[] pixels;
+    private int originX;
+    private int originY;
     private int width;
     private int height;
     private int currentRgb;
 
     public Graphics(@NotNull BufferedImage image) {
+        this(image, 0, 0);
+    }
+
+    public Graphics(int originX, int originY, int width, int height) {
+        this(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), originX, originY);
+    }
+
+    public Graphics(@NotNull BufferedImage image, int originX, int originY) {
         this.currentRgb = 0;
+        this.image = image;
+        this.originX = originX;
+        this.originY = originY;
         this.width = image.getWidth();
         this.height = image.getHeight();
         this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
     }
 
     public void clear() {
-        for (int i = 0; i < this.pixels.length; i++) {
-            this.pixels[i] = 0;
+        Arrays.fill(this.pixels, 0);
+    }
+
+    public void fill(int rgb) {
+        Arrays.fill(this.pixels, rgb);
+    }
+
+    public void fillSpan(int y, int left, int right) {
+        y -= this.originY;
+        if (y < 0 || y >= this.height) {
+            return;
         }
+        left = Math.max(left - this.originX, 0);
+        right = Math.min(right - this.originX, this.width - 1);
+        if (left > right) {
+            return;
+        }
+        if (((this.currentRgb >> 24) & 0xFF) == 255) {
+            int offset = y * this.width;
+            Arrays.fill(this.pixels, offset + left, offset + right + 1, this.currentRgb);
+        } else {
+            for (int x = left; x <= right; x++) {
+                this.drawPixel(x + this.originX, y + this.originY);
+            }
+        }
+    }
+
+    public void blit(@NotNull Graphics2D g) {
+        g.drawImage(this.image, this.originX, this.originY, null);
     }
 
     public void drawPixel(int x, int y) {
+        x -= this.originX;
+        y -= this.originY;
         if (x >= 0 && x < this.width && y >= 0 && y < this.height) {
             int alpha = (this.currentRgb >> 24) & 0xFF;
             if (alpha == 255) {
@@ -46,41 +89,24 @@ public class Graphics {
     }
 
     public void drawLine(int x1, int y1, int x2, int y2) {
-        int dx = x1 - x2;
-        int dy = y1 - y2;
-        int fraction = 0, xstep = 1, ystep = 1;
-        if (dy < 0) {
-            dy = -dy;
-            ystep = -1;
-        }
-        if (dx < 0) {
-            dx = -dx;
-            xstep = -1;
-        }
-        dy <<= 1;
-        dx <<= 1;
-        this.drawPixel(x1, y1);
-        if (dx > dy) {
-            fraction = dy - (dx >> 1);
-        }
-        while (x1 != x2) {
-            if (fraction >= 0) {
-                y1 += ystep;
-                fraction -= dx;
-                x1 += xstep;
+        int dx = Math.abs(x2 - x1);
+        int dy = -Math.abs(y2 - y1);
+        int xstep = x1 < x2 ? 1 : -1;
+        int ystep = y1 < y2 ? 1 : -1;
+        int fraction = dx + dy;
+        while (true) {
+            this.drawPixel(x1, y1);
+            if (x1 == x2 && y1 == y2) {
+                break;
+            }
+            int doubled = fraction << 1;
+            if (doubled >= dy) {
                 fraction += dy;
-                this.drawPixel(x1, y1);
-            } else {
-                fraction = dx - (dy >> 1);
-                while (y1 != y2) {
-                    if (fraction >= 0) {
-                        x1 += xstep;
-                        fraction -= dy;
-                    }
-                    y1 += ystep;
-                    fraction += dx;
-                    this.drawPixel(x1, y1);
-                }
+                x1 += xstep;
+            }
+            if (doubled <= dx) {
+                fraction += dx;
+                y1 += ystep;
             }
         }
     }
@@ -117,6 +143,14 @@ public class Graphics {
         this.currentRgb = color.getRGB();
     }
 
+    public void setRgb(int rgb) {
+        this.currentRgb = rgb;
+    }
+
+    public int getRgb() {
+        return this.currentRgb;
+    }
+
     public Color getColor() {
         return new Color(this.currentRgb, true);
     }
@@ -125,6 +159,18 @@ public class Graphics {
         return this.pixels;
     }
 
+    public BufferedImage getImage() {
+        return this.image;
+    }
+
+    public int getOriginX() {
+        return originX;
+    }
+
+    public int getOriginY() {
+        return originY;
+    }
+
     public Tuple getSize() {
         return new Tuple<>(this.width, this.height);
     }
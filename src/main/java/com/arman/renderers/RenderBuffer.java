@@ -0,0 +1,253 @@
+package com.arman.renderers;
+
+import com.arman.geom.Matrix4D;
+import com.arman.geom.Polygon3D;
+import com.arman.geom.ScratchPolygons;
+import com.arman.geom.Transform3D;
+import com.arman.geom.Vector3D;
+import com.arman.main.Camera;
+import com.arman.models.CompressedIndexBuffer;
+import com.arman.models.DirectMesh;
+import com.arman.models.Mesh;
+import com.arman.models.Model;
+import com.arman.models.QuantizedMesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+
+public class RenderBuffer {
+
+    private static final ThreadLocal<RenderBuffer> BUFFERS = ThreadLocal.withInitial(RenderBuffer::new);
+
+    private Mesh mesh;
+    private DirectMesh directMesh;
+    private QuantizedMesh quantizedMesh;
+    private int[] indices;
+    private int[] offsets;
+    private IntBuffer indexBuffer;
+    private IntBuffer offsetBuffer;
+    private CompressedIndexBuffer compressedIndices;
+    private int[] blockIndices;
+    private int block;
+    private int faceCount;
+    private float[] positions;
+    private FloatBuffer directPositions;
+    private FloatBuffer positionBuffer;
+
+    private Matrix4D modelMatrix;
+    private Matrix4D viewMatrix;
+    private Matrix4D matrix;
+    private Matrix4D dequantization;
+    private Matrix4D quantizedMatrix;
+    private Vector3D eye;
+    private Vector3D v0, v1, v2;
+    private ScratchPolygons polygons;
+
+    public RenderBuffer() {
+        this.positions = new float[0];
+        this.blockIndices = new int[0];
+        this.modelMatrix = new Matrix4D();
+        this.viewMatrix = new Matrix4D();
+        this.matrix = new Matrix4D();
+        this.dequantization = new Matrix4D();
+        this.quantizedMatrix = new Matrix4D();
+        this.eye = new Vector3D();
+        this.v0 = new Vector3D();
+        this.v1 = new Vector3D();
+        this.v2 = new Vector3D();
+        this.polygons = new ScratchPolygons();
+    }
+
+    public static RenderBuffer get() {
+        return BUFFERS.get();
+    }
+
+    public void set(Model model, Camera camera) {
+        this.set(model.getMesh(), model.getTransform(), camera);
+    }
+
+    public void set(Mesh mesh, Transform3D transform, Camera camera) {
+        this.mesh = mesh;
+        this.directMesh = null;
+        this.quantizedMesh = null;
+        this.compressedIndices = null;
+        this.positionBuffer = null;
+        this.indices = mesh.getIndices();
+        this.offsets = mesh.getOffsets();
+        this.faceCount = this.offsets.length - 1;
+        this.setMatrix(transform, camera);
+        List<Vector3D> vertices = mesh.getVertices();
+        int count = vertices.size();
+        this.ensurePositions(count);
+        float m00 = this.matrix.get(0), m01 = this.matrix.get(1), m02 = this.matrix.get(2);
+        float m10 = this.matrix.get(4), m11 = this.matrix.get(5), m12 = this.matrix.get(6);
+        float m20 = this.matrix.get(8), m21 = this.matrix.get(9), m22 = this.matrix.get(10);
+        float m30 = this.matrix.get(12), m31 = this.matrix.get(13), m32 = this.matrix.get(14);
+        for (int i = 0; i < count; i++) {
+            Vector3D v = vertices.get(i);
+            float x = v.getX();
+            float y = v.getY();
+            float z = v.getZ();
+            this.positions[i * 3] = x * m00 + y * m10 + z * m20 + m30;
+            this.positions[i * 3 + 1] = x * m01 + y * m11 + z * m21 + m31;
+            this.positions[i * 3 + 2] = x * m02 + y * m12 + z * m22 + m32;
+        }
+    }
+
+    public void set(DirectMesh mesh, Transform3D transform, Camera camera) {
+        this.mesh = null;
+        this.directMesh = mesh;
+        this.quantizedMesh = null;
+        this.compressedIndices = null;
+        this.indices = null;
+        this.offsets = null;
+        this.indexBuffer = mesh.getIndices();
+        this.offsetBuffer = mesh.getOffsets();
+        this.faceCount = mesh.getFaceCount();
+        this.setMatrix(transform, camera);
+        int count = mesh.getVertexCount();
+        if (this.directPositions == null || this.directPositions.capacity() < count * 3) {
+            this.directPositions = ByteBuffer.allocateDirect(count * 12).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        }
+        this.positionBuffer = this.directPositions;
+        mesh.transform(this.matrix, this.positionBuffer, 0, count);
+    }
+
+    public void set(QuantizedMesh mesh, Transform3D transform, Camera camera) {
+        this.mesh = null;
+        this.directMesh = null;
+        this.quantizedMesh = mesh;
+        this.positionBuffer = null;
+        this.indices = mesh.getIndices();
+        this.offsets = mesh.getOffsets();
+        this.setIndices(mesh.getCompressedIndices());
+        this.faceCount = this.offsets.length - 1;
+        this.setMatrix(transform, camera);
+        mesh.getDequantization(this.dequantization);
+        this.quantizedMatrix.multiply(this.dequantization, this.matrix);
+        this.ensurePositions(mesh.getVertexCount());
+        mesh.transform(this.quantizedMatrix, this.positions);
+    }
+
+    private void setIndices(CompressedIndexBuffer indices) {
+        this.compressedIndices = indices;
+        this.block = -1;
+        if (indices != null && this.blockIndices.length < indices.getBlockSize()) {
+            this.blockIndices = new int[indices.getBlockSize()];
+        }
+    }
+
+    private void setMatrix(Transform3D transform, Camera camera) {
+        camera.getTransform().toInverseMatrix(this.viewMatrix);
+        this.eye.set(camera.getLocation());
+        if (transform != null) {
+            transform.toMatrix(this.modelMatrix);
+            this.matrix.multiply(this.modelMatrix, this.viewMatrix);
+            this.eye.subtract(transform);
+        } else {
+            this.matrix.set(this.viewMatrix);
+        }
+    }
+
+    private void ensurePositions(int count) {
+        if (this.positions.length < count * 3) {
+            this.positions = new float[count * 3];
+        }
+    }
+
+    public Mesh getMesh() {
+        return mesh;
+    }
+
+    public int getFaceCount() {
+        return faceCount;
+    }
+
+    public int getFaceSize(int face) {
+        return this.getOffset(face + 1) - this.getOffset(face);
+    }
+
+    public int getIndex(int face, int corner) {
+        return this.getIndex(this.getOffset(face) + corner);
+    }
+
+    private int getOffset(int face) {
+        return this.offsets != null ? this.offsets[face] : this.offsetBuffer.get(face);
+    }
+
+    private int getIndex(int position) {
+        if (this.indices != null) {
+            return this.indices[position];
+        }
+        if (this.compressedIndices != null) {
+            int block = position / this.compressedIndices.getBlockSize();
+            if (block != this.block) {
+                this.compressedIndices.decode(block, this.blockIndices);
+                this.block = block;
+            }
+            return this.blockIndices[position - block * this.compressedIndices.getBlockSize()];
+        }
+        return this.indexBuffer.get(position);
+    }
+
+    public boolean isFacing(int face) {
+        if (this.mesh != null) {
+            return this.mesh.isFacing(face, this.eye);
+        }
+        int first = this.getOffset(face);
+        if (this.getOffset(face + 1) - first < 3) {
+            return true;
+        }
+        this.getVertex(this.getIndex(first), this.v0);
+        this.getVertex(this.getIndex(first + 1), this.v1);
+        this.getVertex(this.getIndex(first + 2), this.v2);
+        float ax = this.v2.getX() - this.v1.getX(), ay = this.v2.getY() - this.v1.getY(), az = this.v2.getZ() - this.v1.getZ();
+        float bx = this.v0.getX() - this.v1.getX(), by = this.v0.getY() - this.v1.getY(), bz = this.v0.getZ() - this.v1.getZ();
+        return Polygon3D.isFacing(ay * bz - az * by, az * bx - ax * bz, ax * by - ay * bx,
+                this.eye.getX() - this.v0.getX(), this.eye.getY() - this.v0.getY(), this.eye.getZ() - this.v0.getZ());
+    }
+
+    private void getVertex(int vertex, Vector3D v) {
+        if (this.directMesh != null) {
+            this.directMesh.getVertex(vertex, v);
+        } else {
+            this.quantizedMesh.getVertex(vertex, v);
+        }
+    }
+
+    public Polygon3D getPolygon(int face) {
+        int first = this.getOffset(face);
+        int count = this.getOffset(face + 1) - first;
+        Polygon3D polygon = this.getScratch(count);
+        for (int i = 0; i < count; i++) {
+            int index = this.getIndex(first + i) * 3;
+            Vector3D v = polygon.get(i);
+            if (this.positionBuffer != null) {
+                v.setX(this.positionBuffer.get(index));
+                v.setY(this.positionBuffer.get(index + 1));
+                v.setZ(this.positionBuffer.get(index + 2));
+            } else {
+                v.setX(this.positions[index]);
+                v.setY(this.positions[index + 1]);
+                v.setZ(this.positions[index + 2]);
+            }
+        }
+        return polygon;
+    }
+
+    public Polygon3D getScratch(int count) {
+        return this.polygons.get(count);
+    }
+
+    public float[] getPositions() {
+        return positions;
+    }
+
+    public Vector3D getEye() {
+        return eye;
+    }
+
+}
@@ -4,23 +4,47 @@ import com.arman.geom.Polygon3D;
 import com.arman.geom.Vector3D;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+
 public class ScanConverter {
 
     public static final int SCALE_BITS = 16;
     public static final int SCALE = 1 << SCALE_BITS;
     public static final int SCALE_MASK = SCALE - 1;
+    public static final int MAX_COORDINATE = (1 << (31 - SCALE_BITS)) - 1;
 
-    private ScanLine[] scanLines;
+    private int[] lefts;
+    private int[] rights;
     private int top, bottom;
     private BoundingBox bounds;
+    private int[] xs;
+    private int[] ys;
+    private int attributeCount;
+    private int[] leftAttributes;
+    private int[] rightAttributes;
+    private long[] attributeValues;
+    private long[] attributeSteps;
 
     public ScanConverter(BoundingBox bounds) {
         this.bounds = bounds;
+        this.xs = new int[8];
+        this.ys = new int[8];
+        this.leftAttributes = new int[0];
+        this.rightAttributes = new int[0];
+        this.attributeValues = new long[0];
+        this.attributeSteps = new long[0];
+        this.lefts = new int[bounds.y + bounds.height];
+        this.rights = new int[bounds.y + bounds.height];
+        Arrays.fill(this.lefts, Integer.MAX_VALUE);
+        Arrays.fill(this.rights, Integer.MIN_VALUE);
+        this.top = Integer.MAX_VALUE;
+        this.bottom = Integer.MIN_VALUE;
     }
 
     private void clearScan() {
-        for (int i = 0; i < this.scanLines.length; i++) {
-            this.scanLines[i] = new ScanLine();
+        if (this.top <= this.bottom) {
+            Arrays.fill(this.lefts, this.top, this.bottom + 1, Integer.MAX_VALUE);
+            Arrays.fill(this.rights, this.top, this.bottom + 1, Integer.MIN_VALUE);
         }
         this.top = Integer.MAX_VALUE;
         this.bottom = Integer.MIN_VALUE;
@@ -34,87 +58,122 @@ public class ScanConverter {
         return this.bottom;
     }
 
+    public static int toFixed(float f) {
+        return Math.round(Math.max(-MAX_COORDINATE, Math.min(MAX_COORDINATE, f)) * SCALE);
+    }
+
+    public static int ceil(int fixed) {
+        return (fixed + SCALE_MASK) >> SCALE_BITS;
+    }
+
+    public static int floor(int fixed) {
+        return fixed >> SCALE_BITS;
+    }
+
     public boolean convert(@NotNull Polygon3D p) {
-        int height = this.bounds.y + this.bounds.height;
-        this.scanLines = new ScanLine[height];
+        int count = p.vertexCount();
+        if (this.xs.length < count) {
+            this.xs = new int[count];
+            this.ys = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            Vector3D v = p.get(i);
+            this.xs[i] = toFixed(v.getX());
+            this.ys[i] = toFixed(v.getY());
+        }
+        return this.convert(this.xs, this.ys, count);
+    }
+
+    public boolean convert(float[] vertices, int stride, int count, int attributeOffset, int attributeCount) {
+        if (this.xs.length < count) {
+            this.xs = new int[count];
+            this.ys = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            this.xs[i] = toFixed(vertices[i * stride]);
+            this.ys[i] = toFixed(vertices[i * stride + 1]);
+        }
+        if (this.leftAttributes.length < this.lefts.length * attributeCount) {
+            this.leftAttributes = new int[this.lefts.length * attributeCount];
+            this.rightAttributes = new int[this.lefts.length * attributeCount];
+            this.attributeValues = new long[attributeCount];
+            this.attributeSteps = new long[attributeCount];
+        }
+        this.attributeCount = attributeCount;
+        return this.convert(this.xs, this.ys, count, vertices, stride, attributeOffset);
+    }
+
+    public boolean convert(int[] xs, int[] ys, int count) {
+        this.attributeCount = 0;
+        return this.convert(xs, ys, count, null, 0, 0);
+    }
+
+    private boolean convert(int[] xs, int[] ys, int count, float[] vertices, int stride, int attributeOffset) {
         clearScan();
         int minX = this.bounds.x;
         int maxX = this.bounds.x + this.bounds.width - 1;
         int minY = this.bounds.y;
         int maxY = this.bounds.y + this.bounds.height - 1;
-        for (int i = 0; i < p.vertexCount(); i++) {
-            Vector3D v1 = p.get(i);
-            Vector3D v2 = p.get((i + 1) % p.vertexCount());
-            if (v1.getY() > v2.getY()) {
-                Vector3D temp = v2;
-                v2 = v1;
-                v1 = temp;
+        for (int i = 0; i < count; i++) {
+            int j = i + 1 < count ? i + 1 : 0;
+            int a = i;
+            int b = j;
+            int x1 = xs[i];
+            int y1 = ys[i];
+            int x2 = xs[j];
+            int y2 = ys[j];
+            if (y1 > y2) {
+                int temp = x1;
+                x1 = x2;
+                x2 = temp;
+                temp = y1;
+                y1 = y2;
+                y2 = temp;
+                a = j;
+                b = i;
             }
-            float dy = v2.getY() - v1.getY();
+            long dy = (long) y2 - y1;
             if (dy == 0) {
                 continue;
             }
-            int startY = (int) Math.max(Math.ceil(v1.getY()), minY);
-            int endY = (int) Math.min(Math.floor(v2.getY()), maxY);
+            int startY = Math.max(ceil(y1), minY);
+            int endY = Math.min(floor(y2), maxY);
+            if (startY > endY) {
+                continue;
+            }
             this.top = Math.min(this.top, startY);
             this.bottom = Math.max(this.bottom, endY);
-            float dx = v2.getX() - v1.getX();
-            if (dx == 0) {
-                int x = (int) Math.ceil(v1.getX());
-                x = Math.min(maxX + 1, Math.max(x, minX));
-                for (int y = startY; y <= endY; y++) {
-                    this.scanLines[y].setBounds(x);
-                }
-            } else {
-                float gradient = dx / dy;
-                float sx = v1.getX() + (startY - v1.getY()) * gradient;
-                if (sx < minX) {
-                    int y = (int) (v1.getY() + (minX - v1.getX()) / gradient);
-                    y = Math.min(y, endY);
-                    while (startY <= y) {
-                        this.scanLines[startY].setBounds(minX);
-                        startY++;
-                    }
-                } else if (sx > maxX) {
-                    int y = (int) (v1.getY() + (maxX - v1.getX()) / gradient);
-                    y = Math.min(y, endY);
-                    while (startY <= y) {
-                        this.scanLines[startY].setBounds(maxX + 1);
-                        startY++;
+            long offsetY = ((long) startY << SCALE_BITS) - y1;
+            long gradient = (((long) x2 - x1) << SCALE_BITS) / dy;
+            long xScaled = x1 + (offsetY * gradient >> SCALE_BITS) + SCALE_MASK;
+            for (int k = 0; k < this.attributeCount; k++) {
+                long value = toFixed(vertices[a * stride + attributeOffset + k]);
+                long step = ((toFixed(vertices[b * stride + attributeOffset + k]) - value) << SCALE_BITS) / dy;
+                this.attributeValues[k] = value + (offsetY * step >> SCALE_BITS);
+                this.attributeSteps[k] = step;
+            }
+            for (int y = startY; y <= endY; y++) {
+                int x = Math.min(maxX + 1, Math.max((int) (xScaled >> SCALE_BITS), minX));
+                if (x < this.lefts[y]) {
+                    this.lefts[y] = x;
+                    for (int k = 0; k < this.attributeCount; k++) {
+                        this.leftAttributes[y * this.attributeCount + k] = (int) this.attributeValues[k];
                     }
                 }
-                if (startY > endY) {
-                    continue;
-                }
-                float ex = v1.getX() + (endY - v1.getY()) * gradient;
-                if (ex < minX) {
-                    int y = (int) Math.ceil(v1.getY() + (minX - v1.getX()) / gradient);
-                    y = Math.max(y, startY);
-                    while (endY >= y) {
-                        this.scanLines[endY].setBounds(minX);
-                        endY--;
-                    }
-                } else if (ex > maxX) {
-                    int y = (int) Math.ceil(v1.getY() + (maxX - v1.getX()) / gradient);
-                    y = Math.max(y, startY);
-                    while (endY >= y) {
-                        this.scanLines[endY].setBounds(maxX + 1);
-                        endY--;
+                if (x - 1 > this.rights[y]) {
+                    this.rights[y] = x - 1;
+                    for (int k = 0; k < this.attributeCount; k++) {
+                        this.rightAttributes[y * this.attributeCount + k] = (int) this.attributeValues[k];
                     }
                 }
-                if (startY > endY) {
-                    continue;
-                }
-                int xScaled = (int) (SCALE * v1.getX() + SCALE * (startY - v1.getY()) * gradient) + SCALE_MASK;
-                int dxScaled = (int) (SCALE * gradient);
-                for (int y = startY; y <= endY; y++) {
-                    this.scanLines[y].setBounds(xScaled >> SCALE_BITS);
-                    xScaled += dxScaled;
+                xScaled += gradient;
+                for (int k = 0; k < this.attributeCount; k++) {
+                    this.attributeValues[k] += this.attributeSteps[k];
                 }
             }
         }
         for (int y = this.top; y <= this.bottom; y++) {
-            if (scanLines[y].isValid()) {
+            if (this.lefts[y] <= this.rights[y]) {
                 return true;
             }
         }
@@ -122,14 +181,34 @@ public class ScanConverter {
     }
 
     public ScanLine getScanLine(int index) {
-        return this.scanLines[index];
+        return new ScanLine(this.lefts[index], this.rights[index]);
+    }
+
+    public boolean isValid(int y) {
+        return this.lefts[y] <= this.rights[y];
+    }
+
+    public int getLeft(int y) {
+        return this.lefts[y];
+    }
+
+    public int getRight(int y) {
+        return this.rights[y];
+    }
+
+    public int getLeftAttribute(int y, int attribute) {
+        return this.leftAttributes[y * this.attributeCount + attribute];
+    }
+
+    public int getRightAttribute(int y, int attribute) {
+        return this.rightAttributes[y * this.attributeCount + attribute];
     }
 
     @Override
     public String toString() {
         String res = "";
-        for (int y = 0; y < this.scanLines.length; y++) {
-            res += y + ": " + this.scanLines[y];
+        for (int y = 0; y < this.lefts.length; y++) {
+            res += y + ": " + this.getScanLine(y);
             res += "\n";
         }
         return res;
@@ -6,10 +6,15 @@ import com.arman.geom.Transform3D;
 import com.arman.geom.Vector3D;
 import com.arman.main.Camera;
 import com.arman.main.View;
+import com.arman.models.DirectMesh;
 import com.arman.models.Mesh;
+import com.arman.models.Model;
+import com.arman.models.QuantizedMesh;
+import com.arman.pipelines.ClippingPipeline;
+import com.arman.trees.BSPTree;
 
 import java.awt.*;
-import java.util.List;
+import java.util.Arrays;
 
 
 public class ScanLineRenderer implements Renderer {
@@ -19,11 +24,30 @@ public class ScanLineRenderer implements Renderer {
     private View view;
     private Camera camera;
     private boolean clearEveryFrame;
+    private int[] order;
+    private ClippingPipeline clippingPipeline;
+    private Color color;
+    private Color[] colors;
+    private float[] planes;
+    private int polygonCount;
+    private boolean[] inside;
+    private int[] activePolygons;
+    private Graphics graphics;
 
     public ScanLineRenderer(Camera camera, View view, boolean clearEveryFrame) {
         this.view = view;
         this.camera = camera;
         this.clearEveryFrame = clearEveryFrame;
+        this.order = new int[0];
+        this.clippingPipeline = new ClippingPipeline(view);
+        this.globalEdgeTable = new GlobalEdgeTable(view.getTop(), view.getHeight());
+        this.activeEdgeTable = new ActiveEdgeTable(this.globalEdgeTable);
+        this.color = Color.WHITE;
+        this.colors = new Color[64];
+        this.planes = new float[64 * 3];
+        this.inside = new boolean[64];
+        this.activePolygons = new int[64];
+        this.graphics = new Graphics(view.getLeft(), view.getTop(), view.getWidth(), view.getHeight());
     }
 
     public ScanLineRenderer(Camera camera, View view) {
@@ -39,72 +63,192 @@ public class ScanLineRenderer implements Renderer {
     }
 
     private void reset() {
-        int height = this.view.getTop() + this.view.getHeight();
-        this.globalEdgeTable = new GlobalEdgeTable(height);
-        this.activeEdgeTable = new ActiveEdgeTable();
+        this.globalEdgeTable.clear();
+        this.activeEdgeTable.clear();
+        this.polygonCount = 0;
+    }
+
+    public void setColor(Color color) {
+        this.color = color;
+    }
+
+    protected Color getColor(Polygon3D poly) {
+        return this.color;
     }
 
     @Override
     public void before(Graphics2D g) {
         if (clearEveryFrame) {
-            g.setColor(Color.BLACK);
-            g.fillRect(view.getLeft(), view.getTop(), view.getWidth(), view.getHeight());
+            this.graphics.clear();
         }
     }
 
     @Override
     public void after(Graphics2D g) {
+        drawFrame();
+        reset();
+        this.graphics.blit(g);
+    }
 
+    public Graphics getGraphics() {
+        return graphics;
     }
 
     @Override
     public void draw(Graphics2D g, Polygon3D poly) {
         if (poly.isFacing(camera.getLocation())) {
-            Polygon3D drawPoly = new Polygon3D(poly);
-            drawPoly.subtract(camera.getTransform());
-            boolean visible = drawPoly.clip(1);
-            if (visible) {
-                drawNext(g, poly);
-            }
+            drawFace(g, poly);
+        }
+    }
+
+    protected void drawFace(Graphics2D g, Polygon3D poly) {
+        Polygon3D drawPoly = RenderBuffer.get().getScratch(poly.vertexCount());
+        for (int i = 0; i < poly.vertexCount(); i++) {
+            drawPoly.get(i).set(poly.get(i));
+        }
+        drawPoly.subtract(camera.getTransform());
+        drawView(g, drawPoly, poly);
+    }
+
+    protected void drawView(Graphics2D g, Polygon3D viewPoly, Polygon3D poly) {
+        Polygon3D screenPoly = this.clippingPipeline.clip(viewPoly);
+        if (screenPoly != null) {
+            drawNext(g, screenPoly, poly);
         }
     }
 
     @Override
     public void draw(Graphics2D g, Vector3D v) {
-        g.drawLine((int) v.getX(), (int) v.getY(), (int) v.getX(), (int) v.getY());
+        this.graphics.drawPixel((int) v.getX(), (int) v.getY());
     }
 
     @Override
     public void draw(Graphics2D g, Line3D l) {
-        g.drawLine((int) l.get0().getX(), (int) l.get0().getY(), (int) l.get1().getX(), (int) l.get1().getY());
+        this.graphics.drawLine((int) l.get0().getX(), (int) l.get0().getY(), (int) l.get1().getX(), (int) l.get1().getY());
     }
 
     @Override
     public void draw(Graphics2D g, Mesh m) {
-        List<Polygon3D> faces = m.getFaces();
-        for (int i = 0; i < faces.size(); i++) {
-            Polygon3D poly = faces.get(i);
-            draw(g, poly);
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(m, null, camera);
+        drawBuffer(g, buffer);
+    }
+
+    public void draw(Graphics2D g, Model model) {
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(model, camera);
+        drawBuffer(g, buffer);
+    }
+
+    public void draw(Graphics2D g, DirectMesh m, Transform3D transform) {
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(m, transform, camera);
+        drawBuffer(g, buffer);
+    }
+
+    public void draw(Graphics2D g, QuantizedMesh m, Transform3D transform) {
+        RenderBuffer buffer = RenderBuffer.get();
+        buffer.set(m, transform, camera);
+        drawBuffer(g, buffer);
+    }
+
+    protected void drawBuffer(Graphics2D g, RenderBuffer buffer) {
+        Mesh m = buffer.getMesh();
+        for (int i = 0; i < buffer.getFaceCount(); i++) {
+            if (buffer.isFacing(i)) {
+                Polygon3D viewPoly = buffer.getPolygon(i);
+                drawView(g, viewPoly, m != null ? m.getFaces().get(i) : viewPoly);
+            }
         }
     }
 
-    protected void drawNext(Graphics2D g, Polygon3D poly) {
-        reset();
-        this.globalEdgeTable.set(poly);
-        int y = (int) this.globalEdgeTable.getTopY();
-        this.activeEdgeTable.set(y);
-        while (y < this.globalEdgeTable.getBottomY()) {
-            y = this.activeEdgeTable.getScanLine();
-            this.activeEdgeTable.addAll(this.globalEdgeTable.get(y));
+    public void draw(Graphics2D g, BSPTree tree) {
+        if (this.order.length < tree.getPolygons().size()) {
+            this.order = new int[tree.getPolygons().size()];
+        }
+        Vector3D location = camera.getLocation();
+        int count = tree.backToFront(location, this.order);
+        for (int i = 0; i < count; i++) {
+            if (tree.isFacing(this.order[i], location)) {
+                drawFace(g, tree.get(this.order[i]));
+            }
+        }
+    }
+
+    protected void drawNext(Graphics2D g, Polygon3D screenPoly, Polygon3D poly) {
+        int polygon = this.polygonCount++;
+        if (polygon == this.colors.length) {
+            this.colors = Arrays.copyOf(this.colors, polygon * 2);
+            this.planes = Arrays.copyOf(this.planes, polygon * 2 * 3);
+            this.inside = new boolean[polygon * 2];
+            this.activePolygons = new int[polygon * 2];
+        }
+        this.colors[polygon] = getColor(poly);
+        SpanBuffer.setPlane(screenPoly, this.planes, polygon * 3);
+        this.globalEdgeTable.set(screenPoly, polygon);
+    }
+
+    protected void drawFrame() {
+        int left = this.view.getLeft();
+        int right = left + this.view.getWidth();
+        Color current = null;
+        for (int y = this.globalEdgeTable.getTopY(); y < this.globalEdgeTable.getBottomY(); y++) {
             this.activeEdgeTable.cleanUp(y);
+            this.activeEdgeTable.addAll(y);
             this.activeEdgeTable.sort();
-            for (int i = 0; i < this.activeEdgeTable.size() - 1; i += 2) {
-                float x1 = this.activeEdgeTable.get(i).getX();
-                float x2 = this.activeEdgeTable.get(i + 1).getX();
-                g.drawLine((int) x1, y, (int) x2, y);
+            float cy = y + 0.5f;
+            int activeCount = 0;
+            int size = this.activeEdgeTable.size();
+            for (int i = 0; i < size; i++) {
+                int polygon = this.activeEdgeTable.getPolygon(i);
+                if (this.inside[polygon]) {
+                    this.inside[polygon] = false;
+                    for (int j = 0; j < activeCount; j++) {
+                        if (this.activePolygons[j] == polygon) {
+                            this.activePolygons[j] = this.activePolygons[--activeCount];
+                            break;
+                        }
+                    }
+                } else {
+                    this.inside[polygon] = true;
+                    this.activePolygons[activeCount++] = polygon;
+                }
+                if (activeCount == 0 || i + 1 == size) {
+                    continue;
+                }
+                float x0 = this.activeEdgeTable.getX(i);
+                float x1 = this.activeEdgeTable.getX(i + 1);
+                int start = Math.max(left, (int) Math.ceil(x0 - 0.5f));
+                int end = Math.min(right, (int) Math.ceil(x1 - 0.5f));
+                if (start >= end) {
+                    continue;
+                }
+                float cx = (x0 + x1) * 0.5f;
+                int nearest = this.activePolygons[0];
+                float depth = depth(nearest, cx, cy);
+                for (int j = 1; j < activeCount; j++) {
+                    float d = depth(this.activePolygons[j], cx, cy);
+                    if (d > depth) {
+                        depth = d;
+                        nearest = this.activePolygons[j];
+                    }
+                }
+                if (this.colors[nearest] != current) {
+                    current = this.colors[nearest];
+                    this.graphics.setColor(current);
+                }
+                this.graphics.fillSpan(y, start, end - 1);
+            }
+            for (int j = 0; j < activeCount; j++) {
+                this.inside[this.activePolygons[j]] = false;
             }
             this.activeEdgeTable.nextLine();
         }
     }
 
+    private float depth(int polygon, float x, float y) {
+        int offset = polygon * 3;
+        return this.planes[offset] * x + this.planes[offset + 1] * y + this.planes[offset + 2];
+    }
+
 }
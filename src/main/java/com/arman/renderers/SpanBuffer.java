@@ -0,0 +1,211 @@
+package com.arman.renderers;
+
+import com.arman.geom.Polygon3D;
+import com.arman.geom.Vector3D;
+
+import java.awt.*;
+import java.util.Arrays;
+
+public class SpanBuffer {
+
+    private int top;
+    private int[] heads;
+    private int[] starts;
+    private int[] ends;
+    private int[] polygons;
+    private int[] next;
+    private int spanCount;
+    private int topY;
+    private int bottomY;
+
+    private Color[] colors;
+    private float[] planes;
+    private int polygonCount;
+
+    public SpanBuffer(int height) {
+        this(0, height);
+    }
+
+    public SpanBuffer(int top, int height) {
+        this.top = top;
+        this.heads = new int[height];
+        Arrays.fill(this.heads, -1);
+        this.starts = new int[256];
+        this.ends = new int[256];
+        this.polygons = new int[256];
+        this.next = new int[256];
+        this.colors = new Color[64];
+        this.planes = new float[64 * 3];
+        this.topY = Integer.MAX_VALUE;
+        this.bottomY = Integer.MIN_VALUE;
+    }
+
+    public void clear() {
+        if (this.topY <= this.bottomY) {
+            Arrays.fill(this.heads, this.topY - this.top, this.bottomY - this.top + 1, -1);
+        }
+        this.spanCount = 0;
+        this.polygonCount = 0;
+        this.topY = Integer.MAX_VALUE;
+        this.bottomY = Integer.MIN_VALUE;
+    }
+
+    public int addPolygon(Polygon3D screenPoly, Color color) {
+        int polygon = this.addPolygon(color, 0, 0, 0);
+        setPlane(screenPoly, this.planes, polygon * 3);
+        return polygon;
+    }
+
+    public static void setPlane(Polygon3D screenPoly, float[] planes, int offset) {
+        Vector3D v0 = screenPoly.get(0);
+        Vector3D v1 = screenPoly.get(1);
+        Vector3D v2 = screenPoly.get(2);
+        float w0 = 1 / v0.getZ();
+        float ux = v1.getX() - v0.getX();
+        float uy = v1.getY() - v0.getY();
+        float uw = 1 / v1.getZ() - w0;
+        float vx = v2.getX() - v0.getX();
+        float vy = v2.getY() - v0.getY();
+        float vw = 1 / v2.getZ() - w0;
+        float det = ux * vy - uy * vx;
+        float a = 0;
+        float b = 0;
+        if (det != 0) {
+            a = (uw * vy - vw * uy) / det;
+            b = (vw * ux - uw * vx) / det;
+        }
+        planes[offset] = a;
+        planes[offset + 1] = b;
+        planes[offset + 2] = w0 - a * v0.getX() - b * v0.getY();
+    }
+
+    public int addPolygon(Color color, float a, float b, float c) {
+        int polygon = this.polygonCount++;
+        if (polygon == this.colors.length) {
+            this.colors = Arrays.copyOf(this.colors, polygon * 2);
+            this.planes = Arrays.copyOf(this.planes, polygon * 2 * 3);
+        }
+        this.colors[polygon] = color;
+        this.planes[polygon * 3] = a;
+        this.planes[polygon * 3 + 1] = b;
+        this.planes[polygon * 3 + 2] = c;
+        return polygon;
+    }
+
+    public float depth(int polygon, float x, float y) {
+        int offset = polygon * 3;
+        return this.planes[offset] * x + this.planes[offset + 1] * y + this.planes[offset + 2];
+    }
+
+    public void insert(int y, int start, int end, int polygon) {
+        if (start >= end || y < this.top || y >= this.top + this.heads.length) {
+            return;
+        }
+        this.topY = Math.min(this.topY, y);
+        this.bottomY = Math.max(this.bottomY, y);
+        float cy = y + 0.5f;
+        int row = y - this.top;
+        int previous = -1;
+        int span = this.heads[row];
+        int x = start;
+        while (span >= 0 && x < end) {
+            if (this.ends[span] <= x) {
+                previous = span;
+                span = this.next[span];
+                continue;
+            }
+            if (this.starts[span] >= end) {
+                break;
+            }
+            if (this.starts[span] > x) {
+                previous = this.link(row, previous, this.create(x, this.starts[span], polygon), span);
+                x = this.starts[span];
+            }
+            int low = x;
+            int high = Math.min(this.ends[span], end);
+            int other = this.polygons[span];
+            float dLow = this.depth(polygon, low + 0.5f, cy) - this.depth(other, low + 0.5f, cy);
+            float dHigh = this.depth(polygon, high - 0.5f, cy) - this.depth(other, high - 0.5f, cy);
+            int from = low;
+            int to = low;
+            if (dLow >= 0 && dHigh >= 0) {
+                to = high;
+            } else if (dLow >= 0 || dHigh >= 0) {
+                float t = dLow / (dLow - dHigh) * (high - low - 1);
+                if (dLow >= 0) {
+                    to = low + (int) t + 1;
+                } else {
+                    from = low + (int) Math.ceil(t);
+                    to = high;
+                }
+            }
+            if (from < to) {
+                if (from > this.starts[span]) {
+                    previous = this.link(row, previous, this.create(this.starts[span], from, other), span);
+                    this.starts[span] = from;
+                }
+                if (to < this.ends[span]) {
+                    int right = this.create(to, this.ends[span], other);
+                    this.next[right] = this.next[span];
+                    this.next[span] = right;
+                    this.ends[span] = to;
+                }
+                this.polygons[span] = polygon;
+            }
+            x = high;
+            previous = span;
+            span = this.next[span];
+        }
+        if (x < end) {
+            this.link(row, previous, this.create(x, end, polygon), span);
+        }
+    }
+
+    private int create(int start, int end, int polygon) {
+        if (this.spanCount == this.starts.length) {
+            int capacity = this.spanCount * 2;
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.polygons = Arrays.copyOf(this.polygons, capacity);
+            this.next = Arrays.copyOf(this.next, capacity);
+        }
+        int span = this.spanCount++;
+        this.starts[span] = start;
+        this.ends[span] = end;
+        this.polygons[span] = polygon;
+        return span;
+    }
+
+    private int link(int row, int previous, int span, int next) {
+        this.next[span] = next;
+        if (previous < 0) {
+            this.heads[row] = span;
+        } else {
+            this.next[previous] = span;
+        }
+        return span;
+    }
+
+    public void draw(Graphics graphics) {
+        Color current = null;
+        for (int y = this.topY; y <= this.bottomY; y++) {
+            for (int span = this.heads[y - this.top]; span >= 0; span = this.next[span]) {
+                Color color = this.colors[this.polygons[span]];
+                if (color != current) {
+                    current = color;
+                    graphics.setColor(current);
+                }
+                graphics.fillSpan(y, this.starts[span], this.ends[span] - 1);
+            }
+        }
+    }
+
+    public int getSpanCount() {
+        return spanCount;
+    }
+
+    public int getPolygonCount() {
+        return polygonCount;
+    }
+
+}
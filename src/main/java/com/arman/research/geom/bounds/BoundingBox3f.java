@@ -0,0 +1,152 @@
+package com.arman.research.geom.bounds;
+
+import com.arman.research.geom.polygons.Polygon3f;
+import com.arman.research.geom.transforms.Transform3f;
+import com.arman.research.geom.vectors.Vector3f;
+
+public class BoundingBox3f {
+
+    private static Vector3f temp = new Vector3f();
+
+    private float minX;
+    private float minY;
+    private float minZ;
+    private float maxX;
+    private float maxY;
+    private float maxZ;
+
+    public BoundingBox3f() {
+        clear();
+    }
+
+    public BoundingBox3f(BoundingBox3f b) {
+        setTo(b);
+    }
+
+    public void clear() {
+        minX = Float.POSITIVE_INFINITY;
+        minY = Float.POSITIVE_INFINITY;
+        minZ = Float.POSITIVE_INFINITY;
+        maxX = Float.NEGATIVE_INFINITY;
+        maxY = Float.NEGATIVE_INFINITY;
+        maxZ = Float.NEGATIVE_INFINITY;
+    }
+
+    public boolean isEmpty() {
+        return minX > maxX || minY > maxY || minZ > maxZ;
+    }
+
+    public void setTo(BoundingBox3f b) {
+        minX = b.minX;
+        minY = b.minY;
+        minZ = b.minZ;
+        maxX = b.maxX;
+        maxY = b.maxY;
+        maxZ = b.maxZ;
+    }
+
+    public void add(float x, float y, float z) {
+        minX = Math.min(minX, x);
+        minY = Math.min(minY, y);
+        minZ = Math.min(minZ, z);
+        maxX = Math.max(maxX, x);
+        maxY = Math.max(maxY, y);
+        maxZ = Math.max(maxZ, z);
+    }
+
+    public void add(Vector3f v) {
+        add(v.getX(), v.getY(), v.getZ());
+    }
+
+    public void add(Polygon3f p) {
+        for (int i = 0; i < p.getVertexCount(); i++) {
+            add(p.getVertex(i));
+        }
+    }
+
+    public void add(BoundingBox3f b) {
+        if (!b.isEmpty()) {
+            add(b.minX, b.minY, b.minZ);
+            add(b.maxX, b.maxY, b.maxZ);
+        }
+    }
+
+    public void add(Transform3f t) {
+        if (isEmpty()) {
+            return;
+        }
+        float ex = (maxX - minX) / 2;
+        float ey = (maxY - minY) / 2;
+        float ez = (maxZ - minZ) / 2;
+        setTemp((minX + maxX) / 2, (minY + maxY) / 2, (minZ + maxZ) / 2);
+        temp.add(t);
+        float cx = temp.getX();
+        float cy = temp.getY();
+        float cz = temp.getZ();
+        setTemp(ex, 0, 0);
+        temp.addRotation(t);
+        float nx = Math.abs(temp.getX());
+        float ny = Math.abs(temp.getY());
+        float nz = Math.abs(temp.getZ());
+        setTemp(0, ey, 0);
+        temp.addRotation(t);
+        nx += Math.abs(temp.getX());
+        ny += Math.abs(temp.getY());
+        nz += Math.abs(temp.getZ());
+        setTemp(0, 0, ez);
+        temp.addRotation(t);
+        nx += Math.abs(temp.getX());
+        ny += Math.abs(temp.getY());
+        nz += Math.abs(temp.getZ());
+        minX = cx - nx;
+        minY = cy - ny;
+        minZ = cz - nz;
+        maxX = cx + nx;
+        maxY = cy + ny;
+        maxZ = cz + nz;
+    }
+
+    private static void setTemp(float x, float y, float z) {
+        temp.setX(x);
+        temp.setY(y);
+        temp.setZ(z);
+    }
+
+    public boolean intersects(BoundingBox3f b) {
+        return minX <= b.maxX && maxX >= b.minX && minY <= b.maxY && maxY >= b.minY && minZ <= b.maxZ && maxZ >= b.minZ;
+    }
+
+    public boolean contains(Vector3f v) {
+        return v.getX() >= minX && v.getX() <= maxX && v.getY() >= minY && v.getY() <= maxY && v.getZ() >= minZ && v.getZ() <= maxZ;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMinZ() {
+        return minZ;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    public float getMaxZ() {
+        return maxZ;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox3f{" + minX + ", " + minY + ", " + minZ + ", " + maxX + ", " + maxY + ", " + maxZ + "}";
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.arman.research.geom.bounds;
+
+import com.arman.research.geom.polygons.Polygon3f;
+import com.arman.research.geom.transforms.Transform3f;
+import com.arman.research.geom.vectors.Vector3f;
+
+public class BoundingSphere3f {
+
+    private Vector3f center;
+    private float radius;
+
+    public BoundingSphere3f() {
+        center = new Vector3f();
+        radius = -1;
+    }
+
+    public BoundingSphere3f(BoundingSphere3f s) {
+        center = new Vector3f();
+        setTo(s);
+    }
+
+    public void clear() {
+        center.setTo(Vector3f.ORIGIN);
+        radius = -1;
+    }
+
+    public boolean isEmpty() {
+        return radius < 0;
+    }
+
+    public void setTo(BoundingSphere3f s) {
+        center.setTo(s.center);
+        radius = s.radius;
+    }
+
+    public void add(float x, float y, float z) {
+        if (isEmpty()) {
+            center.setX(x);
+            center.setY(y);
+            center.setZ(z);
+            radius = 0;
+            return;
+        }
+        float dx = x - center.getX();
+        float dy = y - center.getY();
+        float dz = z - center.getZ();
+        float d2 = dx * dx + dy * dy + dz * dz;
+        if (d2 > radius * radius) {
+            float d = (float) Math.sqrt(d2);
+            float r = (radius + d) / 2;
+            float f = (r - radius) / d;
+            center.setX(center.getX() + dx * f);
+            center.setY(center.getY() + dy * f);
+            center.setZ(center.getZ() + dz * f);
+            radius = r;
+        }
+    }
+
+    public void add(Vector3f v) {
+        add(v.getX(), v.getY(), v.getZ());
+    }
+
+    public void add(Polygon3f p) {
+        for (int i = 0; i < p.getVertexCount(); i++) {
+            add(p.getVertex(i));
+        }
+    }
+
+    public void add(BoundingSphere3f s) {
+        if (s.isEmpty()) {
+            return;
+        }
+        if (isEmpty()) {
+            setTo(s);
+            return;
+        }
+        float dx = s.center.getX() - center.getX();
+        float dy = s.center.getY() - center.getY();
+        float dz = s.center.getZ() - center.getZ();
+        float d = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (d + s.radius <= radius) {
+            return;
+        }
+        if (d + radius <= s.radius) {
+            setTo(s);
+            return;
+        }
+        float r = (d + radius + s.radius) / 2;
+        float f = (r - radius) / d;
+        center.setX(center.getX() + dx * f);
+        center.setY(center.getY() + dy * f);
+        center.setZ(center.getZ() + dz * f);
+        radius = r;
+    }
+
+    public void add(Transform3f t) {
+        center.add(t);
+    }
+
+    public boolean intersects(BoundingSphere3f s) {
+        float dx = s.center.getX() - center.getX();
+        float dy = s.center.getY() - center.getY();
+        float dz = s.center.getZ() - center.getZ();
+        float r = radius + s.radius;
+        return dx * dx + dy * dy + dz * dz <= r * r;
+    }
+
+    public Vector3f getCenter() {
+        return center;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingSphere3f{" + center + ", " + radius + "}";
+    }
+
+}
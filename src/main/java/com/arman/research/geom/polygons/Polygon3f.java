@@ -13,6 +13,9 @@ public class Polygon3f implements Transformable {
 
     private Vector3f[] vertices;
     private int vertexCount;
+    private Vector3f normal;
+    private float distance;
+    private boolean dirty = true;
 
     public Polygon3f() {
         vertexCount = 0;
@@ -29,6 +32,7 @@ public class Polygon3f implements Transformable {
     }
 
     public void setTo(Polygon3f p) {
+        dirty = true;
         vertexCount = p.vertexCount;
         vertices = new Vector3f[vertexCount];
         for (int i = 0; i < vertexCount; i++) {
@@ -60,11 +64,29 @@ public class Polygon3f implements Transformable {
         return normal;
     }
 
+    public Vector3f getNormal() {
+        if (dirty) {
+            normal = calcNormal();
+            distance = normal.dot(vertices[0]);
+            dirty = false;
+        }
+        return normal;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
     @Override
     public void add(Vector3f v) {
         for (int i = 0; i < vertices.length; i++) {
             vertices[i].add(v);
         }
+        dirty = true;
     }
 
     @Override
@@ -72,6 +94,7 @@ public class Polygon3f implements Transformable {
         for (int i = 0; i < vertices.length; i++) {
             vertices[i].subtract(v);
         }
+        dirty = true;
     }
 
     @Override
@@ -91,6 +114,7 @@ public class Polygon3f implements Transformable {
         for (int i = 0; i < vertices.length; i++) {
             vertices[i].addRotation(t);
         }
+        dirty = true;
     }
 
     @Override
@@ -98,21 +122,15 @@ public class Polygon3f implements Transformable {
         for (int i = 0; i < vertices.length; i++) {
             vertices[i].subtractRotation(t);
         }
+        dirty = true;
     }
 
     public boolean isFacing(Vector3f v) {
-        temp1.setTo(v);
-        temp1.subtract(vertices[0]);
-        return calcNormal().dot(temp1) >= 0;
+        return getNormal().dot(v) >= distance;
     }
 
     public boolean clip(float clipZ) {
-        Vector3f[] newVertices = new Vector3f[3 * vertexCount];
-        System.arraycopy(vertices, 0, newVertices, 0, vertices.length);
-        for (int i = vertices.length; i < newVertices.length; i++) {
-            newVertices[i] = new Vector3f();
-        }
-        vertices = newVertices;
+        ensureCapacity(3 * vertexCount);
         boolean hidden = true;
         for (int i = 0; i < vertexCount; i++) {
             int next = (i + 1) % vertexCount;
@@ -143,14 +161,28 @@ public class Polygon3f implements Transformable {
         return vertexCount >= 3;
     }
 
+    private void ensureCapacity(int capacity) {
+        if (vertices.length < capacity) {
+            Vector3f[] newVertices = new Vector3f[capacity];
+            System.arraycopy(vertices, 0, newVertices, 0, vertices.length);
+            for (int i = vertices.length; i < newVertices.length; i++) {
+                newVertices[i] = new Vector3f();
+            }
+            vertices = newVertices;
+        }
+    }
+
     public void addVertex(int i, float x, float y, float z) {
         Vector3f v = vertices[vertices.length - 1];
-        v.setTo(new Vector3f(x, y, z));
+        v.setX(x);
+        v.setY(y);
+        v.setZ(z);
         for (int j = vertices.length - 1; j > i; j--) {
             vertices[j] = vertices[j - 1];
         }
         vertices[i] = v;
         vertexCount++;
+        dirty = true;
     }
 
     public void removeVertex(int i) {
@@ -160,6 +192,7 @@ public class Polygon3f implements Transformable {
         }
         vertices[vertices.length - 1] = v;
         vertexCount--;
+        dirty = true;
     }
 
     public void addVertex(int i, Vector3f v) {
@@ -1,5 +1,7 @@
 package com.arman.research.geom.polygons;
 
+import com.arman.research.geom.bounds.BoundingBox3f;
+import com.arman.research.geom.bounds.BoundingSphere3f;
 import com.arman.research.geom.transforms.MovingTransform3f;
 import com.arman.research.geom.transforms.Transform3f;
 import com.arman.research.geom.Transformable;
@@ -15,6 +17,10 @@ public class PolygonGroup implements Transformable {
     private List<Object> polygons;
     private MovingTransform3f transform;
     private int index;
+    private BoundingBox3f localBounds;
+    private BoundingSphere3f localSphere;
+    private BoundingBox3f childBounds;
+    private BoundingSphere3f childSphere;
 
     public PolygonGroup() {
         this("unnamed");
@@ -25,6 +31,10 @@ public class PolygonGroup implements Transformable {
         polygons = new ArrayList<>();
         transform = new MovingTransform3f();
         index = 0;
+        localBounds = new BoundingBox3f();
+        localSphere = new BoundingSphere3f();
+        childBounds = new BoundingBox3f();
+        childSphere = new BoundingSphere3f();
     }
 
     public MovingTransform3f getTransform() {
@@ -49,6 +59,8 @@ public class PolygonGroup implements Transformable {
 
     public void add(Polygon3f p) {
         polygons.add(p);
+        localBounds.add(p);
+        localSphere.add(p);
     }
 
     public void add(PolygonGroup pg) {
@@ -71,6 +83,44 @@ public class PolygonGroup implements Transformable {
         return pg;
     }
 
+    public void updateBounds() {
+        localBounds.clear();
+        localSphere.clear();
+        for (int i = 0; i < polygons.size(); i++) {
+            Object o = polygons.get(i);
+            if (o instanceof Polygon3f) {
+                localBounds.add((Polygon3f) o);
+                localSphere.add((Polygon3f) o);
+            } else {
+                ((PolygonGroup) o).updateBounds();
+            }
+        }
+    }
+
+    public BoundingBox3f getBounds(BoundingBox3f bounds) {
+        bounds.setTo(localBounds);
+        for (int i = 0; i < polygons.size(); i++) {
+            Object o = polygons.get(i);
+            if (o instanceof PolygonGroup) {
+                bounds.add(((PolygonGroup) o).getBounds(childBounds));
+            }
+        }
+        bounds.add(transform);
+        return bounds;
+    }
+
+    public BoundingSphere3f getBoundingSphere(BoundingSphere3f sphere) {
+        sphere.setTo(localSphere);
+        for (int i = 0; i < polygons.size(); i++) {
+            Object o = polygons.get(i);
+            if (o instanceof PolygonGroup) {
+                sphere.add(((PolygonGroup) o).getBoundingSphere(childSphere));
+            }
+        }
+        sphere.add(transform);
+        return sphere;
+    }
+
     public PolygonGroup getGroup(String name) {
         if (this.name != null && this.name.equals(name)) {
             return this;
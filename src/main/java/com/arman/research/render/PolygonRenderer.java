@@ -4,6 +4,9 @@ import com.arman.research.geom.polygons.Polygon3f;
 import com.arman.research.geom.transforms.Transform3f;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
 
 public abstract class PolygonRenderer implements Renderer {
 
@@ -11,6 +14,8 @@ public abstract class PolygonRenderer implements Renderer {
     private Transform3f camera;
     private View view;
     private boolean clearEveryFrame;
+    private BufferedImage image;
+    private int[] pixels;
 
     public PolygonRenderer(Transform3f camera, View view) {
         this(camera, view, true);
@@ -21,6 +26,14 @@ public abstract class PolygonRenderer implements Renderer {
         this.view = view;
         this.clearEveryFrame = clearEveryFrame;
         scanConverter = new ScanConverter(view);
+        ensureImage();
+    }
+
+    private void ensureImage() {
+        if (image == null || image.getWidth() != view.getWidth() || image.getHeight() != view.getHeight()) {
+            image = new BufferedImage(view.getWidth(), view.getHeight(), BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        }
     }
 
     public Transform3f getCamera() {
@@ -28,14 +41,27 @@ public abstract class PolygonRenderer implements Renderer {
     }
 
     public void before(Graphics2D g) {
+        ensureImage();
         if (clearEveryFrame) {
-            g.setColor(Color.BLACK);
-            g.fillRect(view.getX(), view.getY(), view.getWidth(), view.getHeight());
+            Arrays.fill(pixels, 0);
         }
     }
 
     public void after(Graphics2D g) {
+        g.drawImage(image, view.getX(), view.getY(), null);
+    }
+
+    public void fillSpan(int y, int left, int right, int rgb) {
+        int offset = (y - view.getY()) * view.getWidth() - view.getX();
+        Arrays.fill(pixels, offset + left, offset + right + 1, rgb);
+    }
+
+    public int[] getPixels() {
+        return pixels;
+    }
 
+    public View getView() {
+        return view;
     }
 
     public boolean draw(Graphics2D g, Polygon3f p) {
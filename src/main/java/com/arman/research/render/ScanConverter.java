@@ -0,0 +1,140 @@
+package com.arman.research.render;
+
+import com.arman.research.geom.polygons.Polygon3f;
+import com.arman.research.geom.vectors.Vector3f;
+
+public class ScanConverter {
+
+    private static final int SCALE_BITS = 16;
+    private static final int SCALE = 1 << SCALE_BITS;
+    private static final int SCALE_MASK = SCALE - 1;
+
+    private View view;
+    private Scan[] scans;
+    private int top;
+    private int bottom;
+
+    public ScanConverter(View view) {
+        this.view = view;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+    public Scan getScan(int y) {
+        return scans[y];
+    }
+
+    public void ensureCapacity() {
+        int height = view.getY() + view.getHeight();
+        if (scans == null || scans.length != height) {
+            scans = new Scan[height];
+            for (int i = 0; i < height; i++) {
+                scans[i] = new Scan();
+            }
+            top = 0;
+            bottom = height - 1;
+        }
+    }
+
+    private void clearCurrentScan() {
+        for (int i = Math.max(top, 0); i <= bottom && i < scans.length; i++) {
+            scans[i].clear();
+        }
+        top = Integer.MAX_VALUE;
+        bottom = Integer.MIN_VALUE;
+    }
+
+    public boolean convert(Polygon3f p) {
+        ensureCapacity();
+        clearCurrentScan();
+        int minX = view.getX();
+        int maxX = view.getX() + view.getWidth() - 1;
+        int minY = view.getY();
+        int maxY = view.getY() + view.getHeight() - 1;
+        int vertexCount = p.getVertexCount();
+        for (int i = 0; i < vertexCount; i++) {
+            Vector3f v1 = p.getVertex(i);
+            Vector3f v2 = p.getVertex(i + 1 < vertexCount ? i + 1 : 0);
+            if (v1.getY() > v2.getY()) {
+                Vector3f temp = v1;
+                v1 = v2;
+                v2 = temp;
+            }
+            float dy = v2.getY() - v1.getY();
+            if (dy == 0) {
+                continue;
+            }
+            int startY = Math.max((int) Math.ceil(v1.getY()), minY);
+            int endY = Math.min((int) Math.ceil(v2.getY()) - 1, maxY);
+            if (startY > endY) {
+                continue;
+            }
+            top = Math.min(top, startY);
+            bottom = Math.max(bottom, endY);
+            float gradient = (v2.getX() - v1.getX()) / dy;
+            float startX = v1.getX() + (startY - v1.getY()) * gradient;
+            long xScaled = (long) Math.floor(startX * SCALE) + SCALE_MASK;
+            long gradientScaled = (long) (gradient * SCALE);
+            for (int y = startY; y <= endY; y++) {
+                int x = (int) Math.min(Math.max(xScaled >> SCALE_BITS, minX), maxX + 1);
+                scans[y].setBoundary(x);
+                xScaled += gradientScaled;
+            }
+        }
+        for (int y = top; y <= bottom; y++) {
+            if (scans[y].isValid()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class Scan {
+
+        private int left;
+        private int right;
+
+        public Scan() {
+            clear();
+        }
+
+        public void setBoundary(int x) {
+            if (x < left) {
+                left = x;
+            }
+            if (x - 1 > right) {
+                right = x - 1;
+            }
+        }
+
+        public void clear() {
+            left = Integer.MAX_VALUE;
+            right = Integer.MIN_VALUE;
+        }
+
+        public boolean isValid() {
+            return left <= right;
+        }
+
+        public void setTo(int left, int right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public int getLeft() {
+            return left;
+        }
+
+        public int getRight() {
+            return right;
+        }
+
+    }
+
+}
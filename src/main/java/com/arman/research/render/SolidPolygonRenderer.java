@@ -20,16 +20,17 @@ public class SolidPolygonRenderer extends PolygonRenderer {
 
     @Override
     public void drawCurrentPolygon(Graphics2D g, Polygon3f p) {
+        int rgb;
         if (p instanceof SolidPolygon3f) {
-            g.setColor(((SolidPolygon3f) p).getColor());
+            rgb = ((SolidPolygon3f) p).getColor().getRGB();
         } else {
-            g.setColor(STANDARD_COLOR);
+            rgb = STANDARD_COLOR.getRGB();
         }
         int y = getScanConverter().getTop();
         while (y <= getScanConverter().getBottom()) {
             ScanConverter.Scan scan = getScanConverter().getScan(y);
             if (scan.isValid()) {
-                g.drawLine(scan.getLeft(), y, scan.getRight(), y);
+                fillSpan(y, scan.getLeft(), scan.getRight(), rgb);
             }
             y++;
         }
@@ -0,0 +1,189 @@
+package com.arman.research.render;
+
+import com.arman.research.geom.polygons.Polygon3f;
+import com.arman.research.geom.polygons.TexturedPolygon3f;
+import com.arman.research.geom.rectangles.Rectangle3f;
+import com.arman.research.geom.transforms.Transform3f;
+import com.arman.research.geom.vectors.Vector3f;
+import com.arman.research.render.textures.PowerOf2Texture;
+import com.arman.research.render.textures.ShadedSurface;
+import com.arman.research.render.textures.Texture;
+
+import java.awt.*;
+
+import static com.arman.research.geom.polygons.SolidPolygon3f.STANDARD_COLOR;
+
+public class TexturedPolygonRenderer extends PolygonRenderer {
+
+    public static final int SPAN_BITS = 4;
+    public static final int SPAN = 1 << SPAN_BITS;
+
+    private static final int SCALE_BITS = 16;
+    private static final int SCALE = 1 << SCALE_BITS;
+    private static final int[] RGB_565 = new int[1 << 16];
+
+    static {
+        for (int i = 0; i < RGB_565.length; i++) {
+            int red = (i >> 11) & 0x1F;
+            int green = (i >> 5) & 0x3F;
+            int blue = i & 0x1F;
+            RGB_565[i] = ((red << 3) | (red >> 2)) << 16 | ((green << 2) | (green >> 4)) << 8 | ((blue << 3) | (blue >> 2));
+        }
+    }
+
+    private Rectangle3f textureBounds;
+    private float ax, ay, az;
+    private float bx, by, bz;
+    private float cx, cy, cz;
+
+    public TexturedPolygonRenderer(Transform3f camera, View view) {
+        super(camera, view);
+        textureBounds = new Rectangle3f();
+    }
+
+    public TexturedPolygonRenderer(Transform3f camera, View view, boolean clearEveryFrame) {
+        super(camera, view, clearEveryFrame);
+        textureBounds = new Rectangle3f();
+    }
+
+    @Override
+    public void drawCurrentPolygon(Graphics2D g, Polygon3f p) {
+        Texture texture = p instanceof TexturedPolygon3f ? ((TexturedPolygon3f) p).getTexture() : null;
+        if (texture == null) {
+            drawSolid(STANDARD_COLOR.getRGB());
+            return;
+        }
+        if (texture instanceof ShadedSurface) {
+            ((ShadedSurface) texture).buildSurface();
+        }
+        textureBounds.setTo(((TexturedPolygon3f) p).getBounds());
+        textureBounds.subtract(getCamera());
+        calcTextureVectors();
+        ScanConverter scanConverter = getScanConverter();
+        for (int y = scanConverter.getTop(); y <= scanConverter.getBottom(); y++) {
+            ScanConverter.Scan scan = scanConverter.getScan(y);
+            if (scan.isValid()) {
+                if (texture instanceof PowerOf2Texture) {
+                    drawPowerOf2Span(y, scan.getLeft(), scan.getRight(), (PowerOf2Texture) texture);
+                } else {
+                    drawSpan(y, scan.getLeft(), scan.getRight(), texture);
+                }
+            }
+        }
+    }
+
+    private void drawSolid(int rgb) {
+        ScanConverter scanConverter = getScanConverter();
+        for (int y = scanConverter.getTop(); y <= scanConverter.getBottom(); y++) {
+            ScanConverter.Scan scan = scanConverter.getScan(y);
+            if (scan.isValid()) {
+                fillSpan(y, scan.getLeft(), scan.getRight(), rgb);
+            }
+        }
+    }
+
+    private void calcTextureVectors() {
+        Vector3f o = textureBounds.getOrigin();
+        Vector3f u = textureBounds.getDu();
+        Vector3f v = textureBounds.getDv();
+        float nx = u.getY() * v.getZ() - u.getZ() * v.getY();
+        float ny = u.getZ() * v.getX() - u.getX() * v.getZ();
+        float nz = u.getX() * v.getY() - u.getY() * v.getX();
+        float on = o.getX() * nx + o.getY() * ny + o.getZ() * nz;
+        float ou = o.dot(u);
+        float ov = o.dot(v);
+        ax = on * u.getX() - ou * nx;
+        ay = on * u.getY() - ou * ny;
+        az = on * u.getZ() - ou * nz;
+        bx = on * v.getX() - ov * nx;
+        by = on * v.getY() - ov * ny;
+        bz = on * v.getZ() - ov * nz;
+        cx = nx;
+        cy = ny;
+        cz = nz;
+    }
+
+    private void drawPowerOf2Span(int y, int left, int right, PowerOf2Texture texture) {
+        View view = getView();
+        int[] pixels = getPixels();
+        short[] buffer = texture.getBuffer();
+        int widthBits = texture.getWidthBits();
+        int widthMask = texture.getWidthMask();
+        int heightMask = texture.getHeightMask();
+        float d = view.getDistanceToCamera();
+        float wx = view.screenXToWorldX(left);
+        float wy = view.screenYToWorldY(y);
+        float tu = ax * wx + ay * wy - az * d;
+        float tv = bx * wx + by * wy - bz * d;
+        float tz = cx * wx + cy * wy - cz * d;
+        float z = 1 / tz;
+        int u = (int) (tu * z * SCALE);
+        int v = (int) (tv * z * SCALE);
+        int offset = (y - view.getY()) * view.getWidth() - view.getX();
+        int x = left;
+        while (x <= right) {
+            int count = Math.min(SPAN, right - x + 1);
+            tu += ax * count;
+            tv += bx * count;
+            tz += cx * count;
+            z = 1 / tz;
+            int nextU = (int) (tu * z * SCALE);
+            int nextV = (int) (tv * z * SCALE);
+            int du;
+            int dv;
+            if (count == SPAN) {
+                du = (nextU - u) >> SPAN_BITS;
+                dv = (nextV - v) >> SPAN_BITS;
+            } else {
+                du = (nextU - u) / count;
+                dv = (nextV - v) / count;
+            }
+            int end = offset + x + count;
+            for (int i = offset + x; i < end; i++) {
+                pixels[i] = RGB_565[buffer[((u >> SCALE_BITS) & widthMask) + (((v >> SCALE_BITS) & heightMask) << widthBits)] & 0xFFFF];
+                u += du;
+                v += dv;
+            }
+            x += count;
+            u = nextU;
+            v = nextV;
+        }
+    }
+
+    private void drawSpan(int y, int left, int right, Texture texture) {
+        View view = getView();
+        int[] pixels = getPixels();
+        float d = view.getDistanceToCamera();
+        float wx = view.screenXToWorldX(left);
+        float wy = view.screenYToWorldY(y);
+        float tu = ax * wx + ay * wy - az * d;
+        float tv = bx * wx + by * wy - bz * d;
+        float tz = cx * wx + cy * wy - cz * d;
+        float z = 1 / tz;
+        int u = (int) (tu * z * SCALE);
+        int v = (int) (tv * z * SCALE);
+        int offset = (y - view.getY()) * view.getWidth() - view.getX();
+        int x = left;
+        while (x <= right) {
+            int count = Math.min(SPAN, right - x + 1);
+            tu += ax * count;
+            tv += bx * count;
+            tz += cx * count;
+            z = 1 / tz;
+            int nextU = (int) (tu * z * SCALE);
+            int nextV = (int) (tv * z * SCALE);
+            int du = (nextU - u) / count;
+            int dv = (nextV - v) / count;
+            int end = offset + x + count;
+            for (int i = offset + x; i < end; i++) {
+                pixels[i] = RGB_565[texture.getColor(u >> SCALE_BITS, v >> SCALE_BITS) & 0xFFFF];
+                u += du;
+                v += dv;
+            }
+            x += count;
+            u = nextU;
+            v = nextV;
+        }
+    }
+
+}
@@ -17,6 +17,22 @@ public class PowerOf2Texture extends Texture {
         this.heightMask = getHeight() - 1;
     }
 
+    public short[] getBuffer() {
+        return buffer;
+    }
+
+    public int getWidthBits() {
+        return widthBits;
+    }
+
+    public int getWidthMask() {
+        return widthMask;
+    }
+
+    public int getHeightMask() {
+        return heightMask;
+    }
+
     @Override
     public short getColor(int x, int y) {
         return buffer[(x & widthMask) + ((y & heightMask) << widthBits)];
@@ -0,0 +1,340 @@
+package com.arman.trees;
+
+import com.arman.geom.Polygon3D;
+import com.arman.geom.Vector3D;
+import com.arman.models.Mesh;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+public class BSPTree {
+
+    public static final float EPSILON = 1e-4f;
+    public static final int CANDIDATE_COUNT = 16;
+    public static final int SPLIT_COST = 8;
+
+    private static final int NONE = -1;
+    private static final int NODE_SIZE = 4;
+
+    private static final int FRONT = 1;
+    private static final int BACK = 2;
+    private static final int SPANNING = FRONT | BACK;
+
+    private List<Polygon3D> polygons;
+    private int[] sources;
+    private float[] polygonPlanes;
+
+    private float[] planes;
+    private int[] nodes;
+    private int nodeCount;
+    private int depth;
+
+    private int[] stack;
+
+    public BSPTree(Mesh mesh) {
+        this(mesh.getFaces());
+    }
+
+    public BSPTree(List<Polygon3D> polygons) {
+        this.build(polygons);
+    }
+
+    private void build(List<Polygon3D> input) {
+        int count = input.size();
+        this.polygons = new ArrayList<>(count);
+        this.sources = new int[Math.max(1, count)];
+        this.polygonPlanes = new float[Math.max(1, count) * 4];
+        this.planes = new float[Math.max(1, count) * 4];
+        this.nodes = new int[Math.max(1, count) * NODE_SIZE];
+        List<Polygon3D> root = new ArrayList<>(count);
+        List<Integer> rootSources = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (input.get(i).vertexCount() >= 3) {
+                root.add(input.get(i));
+                rootSources.add(i);
+            }
+        }
+        this.nodeCount = 0;
+        this.depth = 0;
+        if (root.isEmpty()) {
+            this.stack = new int[1];
+            return;
+        }
+        float[] plane = new float[4];
+        Deque<Task> tasks = new ArrayDeque<>();
+        tasks.push(new Task(this.allocateNode(), 1, root, rootSources));
+        while (!tasks.isEmpty()) {
+            Task task = tasks.pop();
+            this.depth = Math.max(this.depth, task.level);
+            int splitter = this.chooseSplitter(task.polygons, plane);
+            int node = task.node;
+            System.arraycopy(plane, 0, this.planes, node * 4, 4);
+            List<Polygon3D> front = new ArrayList<>();
+            List<Integer> frontSources = new ArrayList<>();
+            List<Polygon3D> back = new ArrayList<>();
+            List<Integer> backSources = new ArrayList<>();
+            int offset = node * NODE_SIZE;
+            this.nodes[offset + 2] = this.polygons.size();
+            for (int i = 0; i < task.polygons.size(); i++) {
+                Polygon3D poly = task.polygons.get(i);
+                int source = task.sources.get(i);
+                int side = i == splitter ? 0 : classify(poly, plane);
+                if (side == 0) {
+                    this.addPolygon(poly, source, plane);
+                } else if (side == FRONT) {
+                    front.add(poly);
+                    frontSources.add(source);
+                } else if (side == BACK) {
+                    back.add(poly);
+                    backSources.add(source);
+                } else {
+                    Polygon3D f = new Polygon3D();
+                    Polygon3D b = new Polygon3D();
+                    split(poly, plane, f, b);
+                    if (f.vertexCount() >= 3) {
+                        front.add(f);
+                        frontSources.add(source);
+                    }
+                    if (b.vertexCount() >= 3) {
+                        back.add(b);
+                        backSources.add(source);
+                    }
+                }
+            }
+            this.nodes[offset + 3] = this.polygons.size() - this.nodes[offset + 2];
+            int frontNode = front.isEmpty() ? NONE : this.allocateNode();
+            int backNode = back.isEmpty() ? NONE : this.allocateNode();
+            this.nodes[offset] = frontNode;
+            this.nodes[offset + 1] = backNode;
+            if (backNode != NONE) {
+                tasks.push(new Task(backNode, task.level + 1, back, backSources));
+            }
+            if (frontNode != NONE) {
+                tasks.push(new Task(frontNode, task.level + 1, front, frontSources));
+            }
+        }
+        this.stack = new int[2 * this.depth + 1];
+    }
+
+    public int backToFront(Vector3D eye, int[] result) {
+        return this.traverse(eye, result, true);
+    }
+
+    public int frontToBack(Vector3D eye, int[] result) {
+        return this.traverse(eye, result, false);
+    }
+
+    private int traverse(Vector3D eye, int[] result, boolean backToFront) {
+        if (this.nodeCount == 0) {
+            return 0;
+        }
+        float x = eye.getX();
+        float y = eye.getY();
+        float z = eye.getZ();
+        int count = 0;
+        int top = 0;
+        this.stack[top++] = 0;
+        while (top > 0) {
+            int node = this.stack[--top];
+            int offset;
+            if (node < 0) {
+                offset = ~node * NODE_SIZE;
+                int first = this.nodes[offset + 2];
+                int last = first + this.nodes[offset + 3];
+                for (int i = first; i < last; i++) {
+                    result[count++] = i;
+                }
+                continue;
+            }
+            offset = node * NODE_SIZE;
+            int p = node * 4;
+            boolean inFront = this.planes[p] * x + this.planes[p + 1] * y + this.planes[p + 2] * z >= this.planes[p + 3];
+            int near = inFront ? this.nodes[offset] : this.nodes[offset + 1];
+            int far = inFront ? this.nodes[offset + 1] : this.nodes[offset];
+            int second = backToFront ? near : far;
+            int first = backToFront ? far : near;
+            if (second != NONE) {
+                this.stack[top++] = second;
+            }
+            this.stack[top++] = ~node;
+            if (first != NONE) {
+                this.stack[top++] = first;
+            }
+        }
+        return count;
+    }
+
+    public boolean isFacing(int polygon, Vector3D eye) {
+        int p = polygon * 4;
+        Vector3D v0 = this.polygons.get(polygon).get(0);
+        return Polygon3D.isFacing(this.polygonPlanes[p], this.polygonPlanes[p + 1], this.polygonPlanes[p + 2],
+                eye.getX() - v0.getX(), eye.getY() - v0.getY(), eye.getZ() - v0.getZ());
+    }
+
+    public Polygon3D get(int polygon) {
+        return this.polygons.get(polygon);
+    }
+
+    public int getSource(int polygon) {
+        return this.sources[polygon];
+    }
+
+    public List<Polygon3D> getPolygons() {
+        return this.polygons;
+    }
+
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    private int allocateNode() {
+        if (this.nodeCount * NODE_SIZE == this.nodes.length) {
+            this.nodes = Arrays.copyOf(this.nodes, this.nodes.length * 2);
+            this.planes = Arrays.copyOf(this.planes, this.planes.length * 2);
+        }
+        return this.nodeCount++;
+    }
+
+    private void addPolygon(Polygon3D poly, int source, float[] plane) {
+        int index = this.polygons.size();
+        if (index == this.sources.length) {
+            this.sources = Arrays.copyOf(this.sources, index * 2);
+            this.polygonPlanes = Arrays.copyOf(this.polygonPlanes, index * 8);
+        }
+        this.polygons.add(poly);
+        this.sources[index] = source;
+        computePlane(poly, this.polygonPlanes, index * 4);
+        float dot = this.polygonPlanes[index * 4] * plane[0] + this.polygonPlanes[index * 4 + 1] * plane[1]
+                + this.polygonPlanes[index * 4 + 2] * plane[2];
+        float sign = dot < 0 ? -1 : 1;
+        for (int i = 0; i < 4; i++) {
+            this.polygonPlanes[index * 4 + i] = sign * plane[i];
+        }
+    }
+
+    private int chooseSplitter(List<Polygon3D> candidates, float[] plane) {
+        int count = candidates.size();
+        int step = Math.max(1, count / CANDIDATE_COUNT);
+        int best = 0;
+        int bestScore = Integer.MAX_VALUE;
+        for (int i = 0; i < count && bestScore > 0; i += step) {
+            computePlane(candidates.get(i), plane, 0);
+            int front = 0;
+            int back = 0;
+            int splits = 0;
+            for (int j = 0; j < count; j++) {
+                if (j == i) {
+                    continue;
+                }
+                int side = classify(candidates.get(j), plane);
+                if (side == FRONT) {
+                    front++;
+                } else if (side == BACK) {
+                    back++;
+                } else if (side == SPANNING) {
+                    splits++;
+                }
+            }
+            int score = SPLIT_COST * splits + Math.abs(front - back);
+            if (score < bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        computePlane(candidates.get(best), plane, 0);
+        return best;
+    }
+
+    private static void computePlane(Polygon3D poly, float[] plane, int offset) {
+        float nx = 0;
+        float ny = 0;
+        float nz = 0;
+        int count = poly.vertexCount();
+        for (int i = 0; i < count; i++) {
+            Vector3D a = poly.get(i);
+            Vector3D b = poly.get((i + 1) % count);
+            nx += (a.getY() - b.getY()) * (a.getZ() + b.getZ());
+            ny += (a.getZ() - b.getZ()) * (a.getX() + b.getX());
+            nz += (a.getX() - b.getX()) * (a.getY() + b.getY());
+        }
+        float length = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (length > 0) {
+            nx /= length;
+            ny /= length;
+            nz /= length;
+        }
+        Vector3D v = poly.get(0);
+        plane[offset] = nx;
+        plane[offset + 1] = ny;
+        plane[offset + 2] = nz;
+        plane[offset + 3] = nx * v.getX() + ny * v.getY() + nz * v.getZ();
+    }
+
+    private static float distance(Vector3D v, float[] plane) {
+        return plane[0] * v.getX() + plane[1] * v.getY() + plane[2] * v.getZ() - plane[3];
+    }
+
+    private static int classify(Polygon3D poly, float[] plane) {
+        int side = 0;
+        for (int i = 0; i < poly.vertexCount(); i++) {
+            float d = distance(poly.get(i), plane);
+            if (d > EPSILON) {
+                side |= FRONT;
+            } else if (d < -EPSILON) {
+                side |= BACK;
+            }
+        }
+        return side;
+    }
+
+    private static void split(Polygon3D poly, float[] plane, Polygon3D front, Polygon3D back) {
+        int count = poly.vertexCount();
+        Vector3D a = poly.get(count - 1);
+        float da = distance(a, plane);
+        for (int i = 0; i < count; i++) {
+            Vector3D b = poly.get(i);
+            float db = distance(b, plane);
+            if ((da > EPSILON && db < -EPSILON) || (da < -EPSILON && db > EPSILON)) {
+                float t = da / (da - db);
+                Vector3D v = new Vector3D(a.getX() + t * (b.getX() - a.getX()), a.getY() + t * (b.getY() - a.getY()),
+                        a.getZ() + t * (b.getZ() - a.getZ()));
+                front.addVertex(v);
+                back.addVertex(new Vector3D(v));
+            }
+            if (db > EPSILON) {
+                front.addVertex(b);
+            } else if (db < -EPSILON) {
+                back.addVertex(b);
+            } else {
+                front.addVertex(b);
+                back.addVertex(b);
+            }
+            a = b;
+            da = db;
+        }
+    }
+
+    private static class Task {
+
+        private int node;
+        private int level;
+        private List<Polygon3D> polygons;
+        private List<Integer> sources;
+
+        Task(int node, int level, List<Polygon3D> polygons, List<Integer> sources) {
+            this.node = node;
+            this.level = level;
+            this.polygons = polygons;
+            this.sources = sources;
+        }
+
+    }
+
+}
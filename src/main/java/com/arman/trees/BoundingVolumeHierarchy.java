@@ -0,0 +1,449 @@
+package com.arman.trees;
+
+import com.arman.geom.Frustum3D;
+import com.arman.geom.Polygon3D;
+import com.arman.geom.Ray3D;
+import com.arman.geom.RayHit;
+import com.arman.geom.Vector3D;
+import com.arman.models.Mesh;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BoundingVolumeHierarchy {
+
+    public static final int BIN_COUNT = 16;
+    public static final int MAX_LEAF_SIZE = 8;
+    public static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final int NODE_SIZE = 3;
+    private static final ThreadLocal<int[]> STACKS = ThreadLocal.withInitial(() -> new int[64]);
+
+    private Mesh mesh;
+    private int primitiveCount;
+    private float[] primitiveBounds;
+    private float[] centroids;
+    private int[] primitives;
+
+    private float[] nodeBounds;
+    private int[] nodes;
+    private int nodeCount;
+    private int depth;
+
+    public BoundingVolumeHierarchy(Mesh mesh) {
+        this.mesh = mesh;
+        this.build();
+    }
+
+    public void build() {
+        List<Polygon3D> faces = this.mesh.getFaces();
+        this.primitiveCount = faces.size();
+        this.primitiveBounds = new float[this.primitiveCount * 6];
+        this.centroids = new float[this.primitiveCount * 3];
+        this.primitives = new int[this.primitiveCount];
+        this.nodeBounds = new float[Math.max(1, 2 * this.primitiveCount - 1) * 6];
+        this.nodes = new int[Math.max(1, 2 * this.primitiveCount - 1) * NODE_SIZE];
+        this.updatePrimitives();
+        for (int i = 0; i < this.primitiveCount; i++) {
+            this.primitives[i] = i;
+        }
+        AtomicInteger counter = new AtomicInteger(1);
+        AtomicInteger maxDepth = new AtomicInteger(1);
+        BuildTask root = new BuildTask(0, 0, this.primitiveCount, 1, counter, maxDepth);
+        if (this.primitiveCount >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(root);
+        } else {
+            root.compute();
+        }
+        this.nodeCount = counter.get();
+        this.depth = maxDepth.get();
+    }
+
+    public void refit() {
+        this.updatePrimitives();
+        for (int node = this.nodeCount - 1; node >= 0; node--) {
+            int offset = node * NODE_SIZE;
+            int left = this.nodes[offset + 2];
+            if (left < 0) {
+                this.unionPrimitives(node * 6, this.nodes[offset], this.nodes[offset] + this.nodes[offset + 1]);
+            } else {
+                int b = node * 6;
+                int l = left * 6;
+                int r = l + 6;
+                this.nodeBounds[b] = Math.min(this.nodeBounds[l], this.nodeBounds[r]);
+                this.nodeBounds[b + 1] = Math.min(this.nodeBounds[l + 1], this.nodeBounds[r + 1]);
+                this.nodeBounds[b + 2] = Math.min(this.nodeBounds[l + 2], this.nodeBounds[r + 2]);
+                this.nodeBounds[b + 3] = Math.max(this.nodeBounds[l + 3], this.nodeBounds[r + 3]);
+                this.nodeBounds[b + 4] = Math.max(this.nodeBounds[l + 4], this.nodeBounds[r + 4]);
+                this.nodeBounds[b + 5] = Math.max(this.nodeBounds[l + 5], this.nodeBounds[r + 5]);
+            }
+        }
+    }
+
+    public int cull(Frustum3D frustum, int[] result) {
+        if (this.primitiveCount == 0) {
+            return 0;
+        }
+        int count = 0;
+        int top = 0;
+        int[] stack = this.getStack();
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int b = node * 6;
+            int c = frustum.classify(this.nodeBounds[b], this.nodeBounds[b + 1], this.nodeBounds[b + 2],
+                    this.nodeBounds[b + 3], this.nodeBounds[b + 4], this.nodeBounds[b + 5]);
+            if (c == Frustum3D.OUTSIDE) {
+                continue;
+            }
+            int offset = node * NODE_SIZE;
+            int left = this.nodes[offset + 2];
+            if (c == Frustum3D.INSIDE || left < 0) {
+                int first = this.nodes[offset];
+                int n = this.nodes[offset + 1];
+                System.arraycopy(this.primitives, first, result, count, n);
+                count += n;
+            } else {
+                stack[top++] = left + 1;
+                stack[top++] = left;
+            }
+        }
+        return count;
+    }
+
+    public int raycast(Ray3D ray, float maxT, int[] result) {
+        if (this.primitiveCount == 0) {
+            return 0;
+        }
+        int count = 0;
+        int top = 0;
+        int[] stack = this.getStack();
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (this.intersect(ray, node, maxT) == Float.POSITIVE_INFINITY) {
+                continue;
+            }
+            int offset = node * NODE_SIZE;
+            int left = this.nodes[offset + 2];
+            if (left < 0) {
+                int first = this.nodes[offset];
+                for (int i = first; i < first + this.nodes[offset + 1]; i++) {
+                    int p = this.primitives[i] * 6;
+                    if (ray.intersect(this.primitiveBounds[p], this.primitiveBounds[p + 1], this.primitiveBounds[p + 2],
+                            this.primitiveBounds[p + 3], this.primitiveBounds[p + 4], this.primitiveBounds[p + 5], maxT) != Float.POSITIVE_INFINITY) {
+                        result[count++] = this.primitives[i];
+                    }
+                }
+            } else {
+                stack[top++] = left + 1;
+                stack[top++] = left;
+            }
+        }
+        return count;
+    }
+
+    public boolean raycast(Ray3D ray, RayHit hit) {
+        if (this.primitiveCount == 0) {
+            return false;
+        }
+        List<Polygon3D> faces = this.mesh.getFaces();
+        boolean result = false;
+        int top = 0;
+        int[] stack = this.getStack();
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (this.intersect(ray, node, hit.getT()) == Float.POSITIVE_INFINITY) {
+                continue;
+            }
+            int offset = node * NODE_SIZE;
+            int left = this.nodes[offset + 2];
+            if (left < 0) {
+                int first = this.nodes[offset];
+                for (int i = first; i < first + this.nodes[offset + 1]; i++) {
+                    int face = this.primitives[i];
+                    if (ray.intersect(faces.get(face), hit)) {
+                        hit.setFace(face);
+                        hit.setObject(this.mesh);
+                        result = true;
+                    }
+                }
+            } else {
+                float tl = this.intersect(ray, left, hit.getT());
+                float tr = this.intersect(ray, left + 1, hit.getT());
+                if (tl <= tr) {
+                    if (tr != Float.POSITIVE_INFINITY) {
+                        stack[top++] = left + 1;
+                    }
+                    if (tl != Float.POSITIVE_INFINITY) {
+                        stack[top++] = left;
+                    }
+                } else {
+                    if (tl != Float.POSITIVE_INFINITY) {
+                        stack[top++] = left;
+                    }
+                    stack[top++] = left + 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    protected float intersect(Ray3D ray, int node, float maxT) {
+        int b = node * 6;
+        return ray.intersect(this.nodeBounds[b], this.nodeBounds[b + 1], this.nodeBounds[b + 2],
+                this.nodeBounds[b + 3], this.nodeBounds[b + 4], this.nodeBounds[b + 5], maxT);
+    }
+
+    private int[] getStack() {
+        int[] stack = STACKS.get();
+        if (stack.length < this.depth + 1) {
+            stack = new int[this.depth + 1];
+            STACKS.set(stack);
+        }
+        return stack;
+    }
+
+    public Mesh getMesh() {
+        return mesh;
+    }
+
+    public int getPrimitiveCount() {
+        return primitiveCount;
+    }
+
+    public int[] getPrimitives() {
+        return primitives;
+    }
+
+    public float[] getNodeBounds() {
+        return nodeBounds;
+    }
+
+    public int[] getNodes() {
+        return nodes;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    private void updatePrimitives() {
+        List<Polygon3D> faces = this.mesh.getFaces();
+        for (int i = 0; i < this.primitiveCount; i++) {
+            Polygon3D face = faces.get(i);
+            float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+            for (int j = 0; j < face.vertexCount(); j++) {
+                Vector3D v = face.get(j);
+                minX = Math.min(minX, v.getX());
+                minY = Math.min(minY, v.getY());
+                minZ = Math.min(minZ, v.getZ());
+                maxX = Math.max(maxX, v.getX());
+                maxY = Math.max(maxY, v.getY());
+                maxZ = Math.max(maxZ, v.getZ());
+            }
+            int b = i * 6;
+            this.primitiveBounds[b] = minX;
+            this.primitiveBounds[b + 1] = minY;
+            this.primitiveBounds[b + 2] = minZ;
+            this.primitiveBounds[b + 3] = maxX;
+            this.primitiveBounds[b + 4] = maxY;
+            this.primitiveBounds[b + 5] = maxZ;
+            int c = i * 3;
+            this.centroids[c] = (minX + maxX) * 0.5f;
+            this.centroids[c + 1] = (minY + maxY) * 0.5f;
+            this.centroids[c + 2] = (minZ + maxZ) * 0.5f;
+        }
+    }
+
+    private void unionPrimitives(int b, int start, int end) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            int p = this.primitives[i] * 6;
+            minX = Math.min(minX, this.primitiveBounds[p]);
+            minY = Math.min(minY, this.primitiveBounds[p + 1]);
+            minZ = Math.min(minZ, this.primitiveBounds[p + 2]);
+            maxX = Math.max(maxX, this.primitiveBounds[p + 3]);
+            maxY = Math.max(maxY, this.primitiveBounds[p + 4]);
+            maxZ = Math.max(maxZ, this.primitiveBounds[p + 5]);
+        }
+        this.nodeBounds[b] = minX;
+        this.nodeBounds[b + 1] = minY;
+        this.nodeBounds[b + 2] = minZ;
+        this.nodeBounds[b + 3] = maxX;
+        this.nodeBounds[b + 4] = maxY;
+        this.nodeBounds[b + 5] = maxZ;
+    }
+
+    private static float area(float dx, float dy, float dz) {
+        return dx * dy + dy * dz + dz * dx;
+    }
+
+    private class BuildTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int node;
+        private int start;
+        private int end;
+        private int level;
+        private AtomicInteger counter;
+        private AtomicInteger maxDepth;
+
+        BuildTask(int node, int start, int end, int level, AtomicInteger counter, AtomicInteger maxDepth) {
+            this.node = node;
+            this.start = start;
+            this.end = end;
+            this.level = level;
+            this.counter = counter;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        protected void compute() {
+            float[] bins = new float[BIN_COUNT * 6];
+            int[] binCounts = new int[BIN_COUNT];
+            float[] rightAreas = new float[BIN_COUNT];
+            float[] centroidBounds = new float[6];
+            while (true) {
+                int offset = this.node * NODE_SIZE;
+                int count = this.end - this.start;
+                nodes[offset] = this.start;
+                nodes[offset + 1] = count;
+                nodes[offset + 2] = -1;
+                unionPrimitives(this.node * 6, this.start, this.end);
+                int current = this.maxDepth.get();
+                while (this.level > current && !this.maxDepth.compareAndSet(current, this.level)) {
+                    current = this.maxDepth.get();
+                }
+                if (count < 2) {
+                    return;
+                }
+                int mid = this.split(bins, binCounts, rightAreas, centroidBounds, count);
+                if (mid < 0) {
+                    return;
+                }
+                int left = this.counter.getAndAdd(2);
+                nodes[offset + 2] = left;
+                if (count >= PARALLEL_THRESHOLD) {
+                    invokeAll(new BuildTask(left, this.start, mid, this.level + 1, this.counter, this.maxDepth),
+                            new BuildTask(left + 1, mid, this.end, this.level + 1, this.counter, this.maxDepth));
+                    return;
+                }
+                new BuildTask(left, this.start, mid, this.level + 1, this.counter, this.maxDepth).compute();
+                this.node = left + 1;
+                this.start = mid;
+                this.level++;
+            }
+        }
+
+        private int split(float[] bins, int[] binCounts, float[] rightAreas, float[] centroidBounds, int count) {
+            for (int axis = 0; axis < 3; axis++) {
+                centroidBounds[axis] = Float.POSITIVE_INFINITY;
+                centroidBounds[axis + 3] = Float.NEGATIVE_INFINITY;
+            }
+            for (int i = this.start; i < this.end; i++) {
+                int c = primitives[i] * 3;
+                for (int axis = 0; axis < 3; axis++) {
+                    centroidBounds[axis] = Math.min(centroidBounds[axis], centroids[c + axis]);
+                    centroidBounds[axis + 3] = Math.max(centroidBounds[axis + 3], centroids[c + axis]);
+                }
+            }
+            int b = this.node * 6;
+            float leafCost = count * area(nodeBounds[b + 3] - nodeBounds[b], nodeBounds[b + 4] - nodeBounds[b + 1],
+                    nodeBounds[b + 5] - nodeBounds[b + 2]);
+            float bestCost = Float.POSITIVE_INFINITY;
+            int bestAxis = -1;
+            int bestBin = 0;
+            for (int axis = 0; axis < 3; axis++) {
+                float extent = centroidBounds[axis + 3] - centroidBounds[axis];
+                if (extent <= 0) {
+                    continue;
+                }
+                float scale = BIN_COUNT / extent;
+                for (int i = 0; i < BIN_COUNT; i++) {
+                    binCounts[i] = 0;
+                    bins[i * 6] = bins[i * 6 + 1] = bins[i * 6 + 2] = Float.POSITIVE_INFINITY;
+                    bins[i * 6 + 3] = bins[i * 6 + 4] = bins[i * 6 + 5] = Float.NEGATIVE_INFINITY;
+                }
+                for (int i = this.start; i < this.end; i++) {
+                    int primitive = primitives[i];
+                    int bin = Math.min(BIN_COUNT - 1, (int) ((centroids[primitive * 3 + axis] - centroidBounds[axis]) * scale));
+                    binCounts[bin]++;
+                    int p = primitive * 6;
+                    int q = bin * 6;
+                    for (int k = 0; k < 3; k++) {
+                        bins[q + k] = Math.min(bins[q + k], primitiveBounds[p + k]);
+                        bins[q + k + 3] = Math.max(bins[q + k + 3], primitiveBounds[p + k + 3]);
+                    }
+                }
+                float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+                float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+                for (int i = BIN_COUNT - 1; i > 0; i--) {
+                    int q = i * 6;
+                    minX = Math.min(minX, bins[q]);
+                    minY = Math.min(minY, bins[q + 1]);
+                    minZ = Math.min(minZ, bins[q + 2]);
+                    maxX = Math.max(maxX, bins[q + 3]);
+                    maxY = Math.max(maxY, bins[q + 4]);
+                    maxZ = Math.max(maxZ, bins[q + 5]);
+                    rightAreas[i] = area(maxX - minX, maxY - minY, maxZ - minZ);
+                }
+                minX = minY = minZ = Float.POSITIVE_INFINITY;
+                maxX = maxY = maxZ = Float.NEGATIVE_INFINITY;
+                int leftCount = 0;
+                for (int i = 0; i < BIN_COUNT - 1; i++) {
+                    int q = i * 6;
+                    minX = Math.min(minX, bins[q]);
+                    minY = Math.min(minY, bins[q + 1]);
+                    minZ = Math.min(minZ, bins[q + 2]);
+                    maxX = Math.max(maxX, bins[q + 3]);
+                    maxY = Math.max(maxY, bins[q + 4]);
+                    maxZ = Math.max(maxZ, bins[q + 5]);
+                    leftCount += binCounts[i];
+                    int rightCount = count - leftCount;
+                    if (leftCount == 0 || rightCount == 0) {
+                        continue;
+                    }
+                    float cost = leftCount * area(maxX - minX, maxY - minY, maxZ - minZ) + rightCount * rightAreas[i + 1];
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestAxis = axis;
+                        bestBin = i;
+                    }
+                }
+            }
+            if (bestAxis < 0) {
+                return count > MAX_LEAF_SIZE ? this.start + count / 2 : -1;
+            }
+            if (count <= MAX_LEAF_SIZE && bestCost >= leafCost) {
+                return -1;
+            }
+            float scale = BIN_COUNT / (centroidBounds[bestAxis + 3] - centroidBounds[bestAxis]);
+            int i = this.start;
+            int j = this.end - 1;
+            while (i <= j) {
+                int bin = Math.min(BIN_COUNT - 1, (int) ((centroids[primitives[i] * 3 + bestAxis] - centroidBounds[bestAxis]) * scale));
+                if (bin <= bestBin) {
+                    i++;
+                } else {
+                    int t = primitives[i];
+                    primitives[i] = primitives[j];
+                    primitives[j--] = t;
+                }
+            }
+            return i;
+        }
+
+    }
+
+}
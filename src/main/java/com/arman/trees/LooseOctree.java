@@ -0,0 +1,292 @@
+package com.arman.trees;
+
+import com.arman.geom.Frustum3D;
+import com.arman.geom.Ray3D;
+
+import java.util.Arrays;
+
+public class LooseOctree<T> {
+
+    public static final int DEFAULT_MAX_DEPTH = 8;
+    public static final float LOOSENESS = 2;
+
+    private static final int NONE = -1;
+
+    private int maxDepth;
+
+    private float[] nodeData;
+    private int[] parents;
+    private int[] children;
+    private int[] heads;
+    private int[] counts;
+    private int nodeCount;
+
+    private Object[] objects;
+    private float[] spheres;
+    private int[] objectNodes;
+    private int[] next;
+    private int[] previous;
+    private int objectCapacity;
+    private int objectCount;
+    private int free;
+    private int size;
+
+    private int[] stack;
+
+    public LooseOctree(float x, float y, float z, float halfSize) {
+        this(x, y, z, halfSize, DEFAULT_MAX_DEPTH);
+    }
+
+    public LooseOctree(float x, float y, float z, float halfSize, int maxDepth) {
+        this.maxDepth = maxDepth;
+        this.nodeData = new float[4 * 9];
+        this.parents = new int[9];
+        this.children = new int[9];
+        this.heads = new int[9];
+        this.counts = new int[9];
+        this.objects = new Object[16];
+        this.spheres = new float[4 * 16];
+        this.objectNodes = new int[16];
+        this.next = new int[16];
+        this.previous = new int[16];
+        this.objectCapacity = 16;
+        this.free = NONE;
+        this.stack = new int[8 * maxDepth + 1];
+        this.addNode(NONE, x, y, z, halfSize);
+    }
+
+    public int insert(T object, float x, float y, float z, float radius) {
+        int handle;
+        if (this.free != NONE) {
+            handle = this.free;
+            this.free = this.next[handle];
+        } else {
+            if (this.objectCount == this.objectCapacity) {
+                this.growObjects();
+            }
+            handle = this.objectCount++;
+        }
+        this.objects[handle] = object;
+        this.setSphere(handle, x, y, z, radius);
+        this.link(handle, this.findNode(x, y, z, radius));
+        this.size++;
+        return handle;
+    }
+
+    public void remove(int handle) {
+        this.unlink(handle);
+        this.objects[handle] = null;
+        this.objectNodes[handle] = NONE;
+        this.next[handle] = this.free;
+        this.free = handle;
+        this.size--;
+    }
+
+    public void move(int handle, float x, float y, float z, float radius) {
+        this.setSphere(handle, x, y, z, radius);
+        int node = this.objectNodes[handle];
+        if (node != 0 && this.fits(node, x, y, z, radius)) {
+            return;
+        }
+        int target = this.findNode(x, y, z, radius);
+        if (target != node) {
+            this.unlink(handle);
+            this.link(handle, target);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        return (T) this.objects[handle];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int query(Frustum3D frustum, int[] result) {
+        int count = 0;
+        int top = 0;
+        this.stack[top++] = 0;
+        while (top > 0) {
+            int node = this.stack[--top];
+            boolean inside = node < 0;
+            if (inside) {
+                node = -node - 1;
+            }
+            if (this.counts[node] == 0) {
+                continue;
+            }
+            if (!inside && node != 0) {
+                int offset = node * 4;
+                float loose = this.nodeData[offset + 3] * LOOSENESS;
+                float cx = this.nodeData[offset];
+                float cy = this.nodeData[offset + 1];
+                float cz = this.nodeData[offset + 2];
+                int c = frustum.classify(cx - loose, cy - loose, cz - loose, cx + loose, cy + loose, cz + loose);
+                if (c == Frustum3D.OUTSIDE) {
+                    continue;
+                }
+                inside = c == Frustum3D.INSIDE;
+            }
+            for (int handle = this.heads[node]; handle != NONE; handle = this.next[handle]) {
+                int s = handle * 4;
+                if (inside || frustum.classify(this.spheres[s], this.spheres[s + 1], this.spheres[s + 2], this.spheres[s + 3]) != Frustum3D.OUTSIDE) {
+                    result[count++] = handle;
+                }
+            }
+            int first = this.children[node];
+            if (first != NONE) {
+                for (int i = 7; i >= 0; i--) {
+                    this.stack[top++] = inside ? -(first + i) - 1 : first + i;
+                }
+            }
+        }
+        return count;
+    }
+
+    public int query(Ray3D ray, float maxT, int[] result) {
+        int count = 0;
+        int top = 0;
+        this.stack[top++] = 0;
+        while (top > 0) {
+            int node = this.stack[--top];
+            if (this.counts[node] == 0) {
+                continue;
+            }
+            if (node != 0) {
+                int offset = node * 4;
+                float loose = this.nodeData[offset + 3] * LOOSENESS;
+                float cx = this.nodeData[offset];
+                float cy = this.nodeData[offset + 1];
+                float cz = this.nodeData[offset + 2];
+                if (ray.intersect(cx - loose, cy - loose, cz - loose, cx + loose, cy + loose, cz + loose, maxT) == Float.POSITIVE_INFINITY) {
+                    continue;
+                }
+            }
+            for (int handle = this.heads[node]; handle != NONE; handle = this.next[handle]) {
+                int s = handle * 4;
+                if (ray.intersect(this.spheres[s], this.spheres[s + 1], this.spheres[s + 2], this.spheres[s + 3], maxT) != Float.POSITIVE_INFINITY) {
+                    result[count++] = handle;
+                }
+            }
+            int first = this.children[node];
+            if (first != NONE) {
+                for (int i = 7; i >= 0; i--) {
+                    this.stack[top++] = first + i;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean fits(int node, float x, float y, float z, float radius) {
+        int offset = node * 4;
+        float half = this.nodeData[offset + 3];
+        float limit = half * LOOSENESS - radius;
+        return radius <= half && Math.abs(x - this.nodeData[offset]) <= limit
+                && Math.abs(y - this.nodeData[offset + 1]) <= limit && Math.abs(z - this.nodeData[offset + 2]) <= limit;
+    }
+
+    private int findNode(float x, float y, float z, float radius) {
+        int node = 0;
+        float half = this.nodeData[3];
+        if (Math.abs(x - this.nodeData[0]) > half || Math.abs(y - this.nodeData[1]) > half
+                || Math.abs(z - this.nodeData[2]) > half) {
+            return 0;
+        }
+        for (int depth = 0; depth < this.maxDepth && radius <= half * 0.5f; depth++) {
+            if (this.children[node] == NONE) {
+                this.split(node);
+            }
+            int offset = node * 4;
+            int octant = (x >= this.nodeData[offset] ? 1 : 0) | (y >= this.nodeData[offset + 1] ? 2 : 0)
+                    | (z >= this.nodeData[offset + 2] ? 4 : 0);
+            node = this.children[node] + octant;
+            half *= 0.5f;
+        }
+        return node;
+    }
+
+    private void split(int node) {
+        int offset = node * 4;
+        float quarter = this.nodeData[offset + 3] * 0.5f;
+        float x = this.nodeData[offset];
+        float y = this.nodeData[offset + 1];
+        float z = this.nodeData[offset + 2];
+        int first = this.nodeCount;
+        for (int octant = 0; octant < 8; octant++) {
+            this.addNode(node, (octant & 1) != 0 ? x + quarter : x - quarter, (octant & 2) != 0 ? y + quarter : y - quarter,
+                    (octant & 4) != 0 ? z + quarter : z - quarter, quarter);
+        }
+        this.children[node] = first;
+    }
+
+    private void addNode(int parent, float x, float y, float z, float halfSize) {
+        if (this.nodeCount == this.parents.length) {
+            int capacity = this.nodeCount * 2;
+            this.nodeData = Arrays.copyOf(this.nodeData, capacity * 4);
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.children = Arrays.copyOf(this.children, capacity);
+            this.heads = Arrays.copyOf(this.heads, capacity);
+            this.counts = Arrays.copyOf(this.counts, capacity);
+        }
+        int node = this.nodeCount++;
+        int offset = node * 4;
+        this.nodeData[offset] = x;
+        this.nodeData[offset + 1] = y;
+        this.nodeData[offset + 2] = z;
+        this.nodeData[offset + 3] = halfSize;
+        this.parents[node] = parent;
+        this.children[node] = NONE;
+        this.heads[node] = NONE;
+        this.counts[node] = 0;
+    }
+
+    private void link(int handle, int node) {
+        this.objectNodes[handle] = node;
+        this.previous[handle] = NONE;
+        this.next[handle] = this.heads[node];
+        if (this.heads[node] != NONE) {
+            this.previous[this.heads[node]] = handle;
+        }
+        this.heads[node] = handle;
+        for (int n = node; n != NONE; n = this.parents[n]) {
+            this.counts[n]++;
+        }
+    }
+
+    private void unlink(int handle) {
+        int node = this.objectNodes[handle];
+        if (this.previous[handle] != NONE) {
+            this.next[this.previous[handle]] = this.next[handle];
+        } else {
+            this.heads[node] = this.next[handle];
+        }
+        if (this.next[handle] != NONE) {
+            this.previous[this.next[handle]] = this.previous[handle];
+        }
+        for (int n = node; n != NONE; n = this.parents[n]) {
+            this.counts[n]--;
+        }
+    }
+
+    private void setSphere(int handle, float x, float y, float z, float radius) {
+        int s = handle * 4;
+        this.spheres[s] = x;
+        this.spheres[s + 1] = y;
+        this.spheres[s + 2] = z;
+        this.spheres[s + 3] = radius;
+    }
+
+    private void growObjects() {
+        int capacity = this.objectCapacity * 2;
+        this.objects = Arrays.copyOf(this.objects, capacity);
+        this.spheres = Arrays.copyOf(this.spheres, capacity * 4);
+        this.objectNodes = Arrays.copyOf(this.objectNodes, capacity);
+        this.next = Arrays.copyOf(this.next, capacity);
+        this.previous = Arrays.copyOf(this.previous, capacity);
+        this.objectCapacity = capacity;
+    }
+
+}